@@ -23,5 +23,6 @@ dependencies {
     implementation("com.google.code.findbugs:jsr305:2.0.1")
     implementation("com.google.errorprone:error_prone_annotations:2.0.9")
     annotationProcessor("com.google.auto.service:auto-service:1.0-rc2")
+    testImplementation("junit:junit:4.12")
 
 }
@@ -2,6 +2,7 @@ package dagger.internal.codegen;
 
 import com.google.auto.common.MoreElements;
 import com.google.auto.common.MoreTypes;
+import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.collect.FluentIterable;
@@ -16,8 +17,11 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import dagger.Provides;
 import dagger.internal.DelegateFactory;
 import dagger.internal.MapFactory;
 import dagger.internal.MapProviderFactory;
@@ -32,6 +36,9 @@ import dagger.producers.internal.MapProducer;
 import dagger.producers.internal.SetOfProducedProducer;
 import dagger.producers.internal.SetProducer;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -44,6 +51,7 @@ import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic;
@@ -57,22 +65,30 @@ import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static dagger.internal.codegen.AbstractComponentWriter.InitializationState.DELEGATED;
 import static dagger.internal.codegen.AbstractComponentWriter.InitializationState.INITIALIZED;
 import static dagger.internal.codegen.AbstractComponentWriter.InitializationState.UNINITIALIZED;
+import static dagger.internal.codegen.Accessibility.isElementAccessibleFrom;
+import static dagger.internal.codegen.Accessibility.isTypeAccessibleFrom;
 import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_UNCHECKED;
 import static dagger.internal.codegen.CodeBlocks.makeParametersCodeBlock;
 import static dagger.internal.codegen.ContributionBinding.FactoryCreationStrategy.ENUM_INSTANCE;
 import static dagger.internal.codegen.ContributionBinding.Kind.PROVISION;
 import static dagger.internal.codegen.ErrorMessages.CANNOT_RETURN_NULL_FROM_NON_NULLABLE_COMPONENT_METHOD;
+import static dagger.internal.codegen.ErrorMessages.CANNOT_RETURN_NULL_FROM_NON_NULLABLE_PROVIDES_METHOD;
 import static dagger.internal.codegen.FrameworkDependency.frameworkDependenciesForBinding;
+import static dagger.internal.codegen.FrameworkTypes.isCompletionStageType;
 import static dagger.internal.codegen.MapKeys.getMapKeyExpression;
 import static dagger.internal.codegen.MemberSelect.emptyFrameworkMapFactory;
 import static dagger.internal.codegen.MemberSelect.emptySetProvider;
 import static dagger.internal.codegen.MemberSelect.localField;
+import static dagger.internal.codegen.MemberSelect.localMethod;
 import static dagger.internal.codegen.MemberSelect.noOpMembersInjector;
 import static dagger.internal.codegen.MemberSelect.staticMethod;
 import static dagger.internal.codegen.MembersInjectionBinding.Strategy.NO_OP;
 import static dagger.internal.codegen.SourceFiles.frameworkTypeUsageStatement;
 import static dagger.internal.codegen.SourceFiles.generatedClassNameForBinding;
 import static dagger.internal.codegen.SourceFiles.membersInjectorNameForType;
+import static dagger.internal.codegen.SourceFiles.proxyMethodName;
+import static dagger.internal.codegen.TypeNames.CANCELLABLE_EXECUTOR;
+import static dagger.internal.codegen.TypeNames.COMPLETION_STAGES;
 import static dagger.internal.codegen.TypeNames.DELEGATE_FACTORY;
 import static dagger.internal.codegen.TypeNames.FACTORY;
 import static dagger.internal.codegen.TypeNames.ILLEGAL_STATE_EXCEPTION;
@@ -86,11 +102,13 @@ import static dagger.internal.codegen.TypeNames.MAP_PROVIDER_FACTORY;
 import static dagger.internal.codegen.TypeNames.MEMBERS_INJECTORS;
 import static dagger.internal.codegen.TypeNames.PRODUCER;
 import static dagger.internal.codegen.TypeNames.PRODUCERS;
-import static dagger.internal.codegen.TypeNames.SCOPED_PROVIDER;
+import static dagger.internal.codegen.TypeNames.PROVIDER_INDEX;
 import static dagger.internal.codegen.TypeNames.SET_FACTORY;
 import static dagger.internal.codegen.TypeNames.SET_OF_PRODUCED_PRODUCER;
 import static dagger.internal.codegen.TypeNames.SET_PRODUCER;
+import static dagger.internal.codegen.TypeNames.SINGLE_CHECK_PROVIDER;
 import static dagger.internal.codegen.TypeNames.STRING;
+import static dagger.internal.codegen.TypeNames.STRING_KEYS;
 import static dagger.internal.codegen.TypeNames.UNSUPPORTED_OPERATION_EXCEPTION;
 import static dagger.internal.codegen.TypeNames.providerOf;
 import static dagger.internal.codegen.TypeSpecs.addSupertype;
@@ -98,8 +116,10 @@ import static dagger.internal.codegen.Util.componentCanMakeNewInstances;
 import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PROTECTED;
 import static javax.lang.model.element.Modifier.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
+import static javax.lang.model.element.Modifier.VOLATILE;
 import static javax.lang.model.type.TypeKind.DECLARED;
 import static javax.lang.model.type.TypeKind.VOID;
 
@@ -115,10 +135,19 @@ abstract class AbstractComponentWriter {
   protected final ClassName name;
   protected final BindingGraph graph;
   protected final ImmutableMap<ComponentDescriptor, String> subcomponentNames;
+  protected final DirectInstanceBindings directInstanceBindings;
   private final Map<BindingKey, InitializationState> initializationStates = new HashMap<>();
   protected TypeSpec.Builder component;
   private final UniqueNameSet componentFieldNames = new UniqueNameSet();
   private final Map<BindingKey, MemberSelect> memberSelects = new HashMap<>();
+  private final Map<BindingKey, String> directInstanceMethodNames = new HashMap<>();
+  private final Map<BindingKey, FieldSpec> lazyFrameworkFields = new LinkedHashMap<>();
+  private final Map<BindingKey, String> lazyFrameworkFieldGetterNames = new HashMap<>();
+  private final Map<BindingKey, String> instanceCreationMethodNames = new HashMap<>();
+  private final List<CodeBlock> switchingProviderCases = Lists.newArrayList();
+  private final Set<BindingKey> switchingProviderKeys = new HashSet<>();
+  private final UniqueNameSet componentMethodNames = new UniqueNameSet();
+  private final UniqueNameSet componentTypeNames = new UniqueNameSet();
   protected final MethodSpec.Builder constructor = constructorBuilder().addModifiers(PRIVATE);
   protected Optional<ClassName> builderName = Optional.absent();
 
@@ -133,7 +162,8 @@ abstract class AbstractComponentWriter {
       CompilerOptions compilerOptions,
       ClassName name,
       BindingGraph graph,
-      ImmutableMap<ComponentDescriptor, String> subcomponentNames) {
+      ImmutableMap<ComponentDescriptor, String> subcomponentNames,
+      DirectInstanceBindings directInstanceBindings) {
     this.types = types;
     this.elements = elements;
     this.keyFactory = keyFactory;
@@ -141,6 +171,14 @@ abstract class AbstractComponentWriter {
     this.name = name;
     this.graph = graph;
     this.subcomponentNames = subcomponentNames;
+    this.directInstanceBindings = directInstanceBindings;
+    for (ExecutableElement method :
+        ElementFilter.methodsIn(elements.getAllMembers(componentDefinitionType()))) {
+      componentMethodNames.getUniqueName(method.getSimpleName());
+    }
+    if (compilerOptions.providerIndex()) {
+      componentMethodNames.getUniqueName("getProvider");
+    }
   }
 
   protected final TypeElement componentDefinitionType() {
@@ -152,7 +190,7 @@ abstract class AbstractComponentWriter {
   }
 
   private CodeBlock getComponentContributionExpression(TypeElement contributionType) {
-    if (builderFields.containsKey(contributionType)) {
+    if (builderFields.containsKey(contributionType) && !compilerOptions.fastInit()) {
       return CodeBlocks.format("builder.$N", builderFields.get(contributionType));
     } else {
       Optional<CodeBlock> codeBlock =
@@ -194,6 +232,26 @@ abstract class AbstractComponentWriter {
     return memberSelects.get(key);
   }
 
+  private Optional<CodeBlock> cancellableProductionExecutor() {
+    if (!compilerOptions.cancellableProductionExecutor()) {
+      return Optional.absent();
+    }
+    BindingKey executorKey =
+        BindingKey.create(
+            BindingKey.Kind.CONTRIBUTION, keyFactory.forProductionImplementationExecutor());
+    ResolvedBindings resolvedBindings = graph.resolvedBindings().get(executorKey);
+    if (resolvedBindings == null || resolvedBindings.ownedContributionBindings().isEmpty()) {
+      return Optional.absent();
+    }
+    return Optional.of(
+        CodeBlock.builder().add("$L.get()", getMemberSelectExpression(executorKey)).build());
+  }
+
+  protected MemberSelect getDirectInstanceMethod(BindingKey key) {
+    String methodName = directInstanceMethodNames.get(key);
+    return methodName == null ? null : localMethod(name, methodName);
+  }
+
   protected InitializationState getInitializationState(BindingKey bindingKey) {
     return initializationStates.containsKey(bindingKey)
         ? initializationStates.get(bindingKey)
@@ -210,8 +268,17 @@ abstract class AbstractComponentWriter {
     addBuilder();
     addFactoryMethods();
     addFields();
-    initializeFrameworkTypes();
+    if (compilerOptions.fastInit()) {
+      addLazyFrameworkFieldGetters();
+      addSwitchingProvider();
+    } else {
+      initializeFrameworkTypes();
+    }
+    addDirectInstanceMethods();
     implementInterfaceMethods();
+    if (compilerOptions.providerIndex()) {
+      implementProviderIndex();
+    }
     addSubcomponents();
     component.addMethod(constructor.build());
     return component;
@@ -383,20 +450,39 @@ abstract class AbstractComponentWriter {
   private void addField(ResolvedBindings resolvedBindings) {
     BindingKey bindingKey = resolvedBindings.bindingKey();
 
+    if (directInstanceBindings.isDirect(bindingKey)
+        && !resolvedBindings.ownedBindings().isEmpty()) {
+      directInstanceMethodNames.put(
+          bindingKey,
+          componentMethodNames.getUniqueName(
+              "get" + LOWER_CAMEL.to(UPPER_CAMEL, KeyVariableNamer.INSTANCE.apply(
+                  bindingKey.key()))));
+    }
+
     Optional<MemberSelect> staticMemberSelect = staticMemberSelect(resolvedBindings);
     if (staticMemberSelect.isPresent()) {
       memberSelects.put(bindingKey, staticMemberSelect.get());
       return;
     }
 
-    if (resolvedBindings.ownedBindings().isEmpty()) {
+    if (resolvedBindings.ownedBindings().isEmpty()
+        || !directInstanceBindings.requiresFrameworkInstance(bindingKey)) {
       return;
     }
 
     FieldSpec frameworkField = addFrameworkField(resolvedBindings);
-    memberSelects.put(
-        bindingKey,
-        localField(name, frameworkField.name));
+    if (compilerOptions.fastInit()) {
+      String getterName =
+          componentMethodNames.getUniqueName(
+              "get" + LOWER_CAMEL.to(UPPER_CAMEL, frameworkField.name));
+      lazyFrameworkFields.put(bindingKey, frameworkField);
+      lazyFrameworkFieldGetterNames.put(bindingKey, getterName);
+      memberSelects.put(bindingKey, localMethod(name, getterName));
+    } else {
+      memberSelects.put(
+          bindingKey,
+          localField(name, frameworkField.name));
+    }
   }
 
   private FieldSpec addFrameworkField(ResolvedBindings resolvedBindings) {
@@ -411,6 +497,9 @@ abstract class AbstractComponentWriter {
                 : contributionBindingField.frameworkType(),
             contributionBindingField.name());
     contributionField.addModifiers(PRIVATE);
+    if (compilerOptions.fastInit()) {
+      contributionField.addModifiers(VOLATILE);
+    }
     if (useRawType) {
       contributionField.addAnnotation(AnnotationSpecs.SUPPRESS_WARNINGS_RAWTYPES);
     }
@@ -523,6 +612,13 @@ abstract class AbstractComponentWriter {
                   .addModifiers(PUBLIC)
                   .returns(TypeName.get(requestType.getReturnType()));
           BindingKey bindingKey = interfaceRequest.bindingKey();
+          MemberSelect directInstanceMethod = getDirectInstanceMethod(bindingKey);
+          if (interfaceRequest.kind().equals(DependencyRequest.Kind.INSTANCE)
+              && directInstanceMethod != null) {
+            interfaceMethod.addStatement("return $L", directInstanceMethod.getExpressionFor(name));
+            component.addMethod(interfaceMethod.build());
+            continue;
+          }
           MemberSelect memberSelect = getMemberSelect(bindingKey);
           CodeBlock memberSelectCodeBlock = memberSelect.getExpressionFor(name);
           switch (interfaceRequest.kind()) {
@@ -557,9 +653,31 @@ abstract class AbstractComponentWriter {
             case PRODUCER:
             case PROVIDER:
             case FUTURE:
+              if (interfaceRequest.kind().equals(DependencyRequest.Kind.FUTURE)) {
+                CodeBlock future =
+                    CodeBlock.builder().add("$L.get()", memberSelectCodeBlock).build();
+                Optional<CodeBlock> cancellableExecutor = cancellableProductionExecutor();
+                if (cancellableExecutor.isPresent()) {
+                  future =
+                      CodeBlock.builder()
+                          .add(
+                              "$T.cancelComponentWith($L, $L)",
+                              CANCELLABLE_EXECUTOR,
+                              future,
+                              cancellableExecutor.get())
+                          .build();
+                }
+                if (isCompletionStageType(requestType.getReturnType())) {
+                  interfaceMethod.addStatement(
+                      "return $T.toCompletableFuture($L)", COMPLETION_STAGES, future);
+                } else {
+                  interfaceMethod.addStatement("return $L", future);
+                }
+                break;
+              }
               interfaceMethod.addStatement(
                   "return $L",
-                  frameworkTypeUsageStatement(memberSelectCodeBlock, interfaceRequest.kind()));
+                  frameworkTypeUsageStatement(memberSelectCodeBlock, interfaceRequest));
               break;
             default:
               throw new AssertionError();
@@ -570,6 +688,40 @@ abstract class AbstractComponentWriter {
     }
   }
 
+  private void implementProviderIndex() {
+    ImmutableList.Builder<CodeBlock> cases = ImmutableList.builder();
+    for (BindingKey bindingKey : ProviderIndexKeys.forGraph(graph, name.packageName())) {
+      MemberSelect memberSelect = getMemberSelect(bindingKey);
+      if (memberSelect == null) {
+        continue;
+      }
+      TypeMirror type = bindingKey.key().type();
+      cases.add(
+          CodeBlocks.format(
+              "case $S: return type == $T.class ? ($T) $L : null;\n",
+              elements.getBinaryName(MoreTypes.asTypeElement(type)),
+              TypeName.get(type),
+              providerOf(TypeVariableName.get("T")),
+              memberSelect.getExpressionFor(name)));
+    }
+    component.addSuperinterface(PROVIDER_INDEX);
+    component.addMethod(
+        methodBuilder("getProvider")
+            .addAnnotation(Override.class)
+            .addAnnotation(SUPPRESS_WARNINGS_UNCHECKED)
+            .addModifiers(PUBLIC)
+            .addTypeVariable(TypeVariableName.get("T"))
+            .returns(providerOf(TypeVariableName.get("T")))
+            .addParameter(
+                ParameterizedTypeName.get(ClassName.get(Class.class), TypeVariableName.get("T")),
+                "type")
+            .addCode(
+                CodeBlocks.format(
+                    "switch (type.getName()) {\n$>$Ldefault: return null;\n$<}\n",
+                    CodeBlocks.concat(cases.build())))
+            .build());
+  }
+
   private void addSubcomponents() {
     for (Map.Entry<ExecutableElement, BindingGraph> subgraphEntry : graph.subgraphs().entrySet()) {
       SubcomponentWriter subcomponent =
@@ -606,9 +758,290 @@ abstract class AbstractComponentWriter {
     }
   }
 
+  private void addLazyFrameworkFieldGetters() {
+    Map<BindingKey, CodeBlock> switchingProviders = new HashMap<>();
+    for (BindingKey bindingKey : lazyFrameworkFields.keySet()) {
+      if (bindingKey.kind().equals(BindingKey.Kind.CONTRIBUTION)) {
+        Optional<CodeBlock> switchingProvider =
+            switchingProvider(
+                bindingKey, graph.resolvedBindings().get(bindingKey).contributionBinding());
+        if (switchingProvider.isPresent()) {
+          switchingProviders.put(bindingKey, switchingProvider.get());
+          switchingProviderKeys.add(bindingKey);
+        }
+      }
+    }
+
+    if (lazyFrameworkFields.isEmpty()) {
+      return;
+    }
+    FieldSpec lock =
+        componentField(ClassName.get(Object.class), "lock")
+            .addModifiers(PRIVATE, FINAL)
+            .initializer("new $T()", Object.class)
+            .build();
+    component.addField(lock);
+
+    Map<BindingKey, Integer> cycles = frameworkFieldCycles();
+    for (Map.Entry<BindingKey, FieldSpec> lazyFrameworkField : lazyFrameworkFields.entrySet()) {
+      BindingKey bindingKey = lazyFrameworkField.getKey();
+      FieldSpec field = lazyFrameworkField.getValue();
+      ResolvedBindings resolvedBindings = graph.resolvedBindings().get(bindingKey);
+
+      MethodSpec.Builder getter =
+          methodBuilder(lazyFrameworkFieldGetterNames.get(bindingKey))
+              .addModifiers(PRIVATE)
+              .returns(field.type)
+              .addStatement("$T local = $N", field.type, field)
+              .beginControlFlow("if (local == null)")
+              .beginControlFlow("synchronized ($N)", lock)
+              .addStatement("local = $N", field)
+              .beginControlFlow("if (local == null)");
+
+      Optional<FieldSpec> delegateField = Optional.absent();
+      if (cycles.containsKey(bindingKey)) {
+        switch (bindingKey.kind()) {
+          case CONTRIBUTION:
+            delegateField = Optional.of(addDelegateFactoryField(field));
+            getter
+                .beginControlFlow("if ($N != null)", delegateField.get())
+                .addStatement("return $N", delegateField.get())
+                .endControlFlow()
+                .addStatement("$N = new $T()", delegateField.get(), delegateField.get().type);
+            break;
+
+          case MEMBERS_INJECTION:
+            boolean dependsOnCycle = false;
+            for (DependencyRequest dependency : frameworkDependencies(resolvedBindings)) {
+              BindingKey dependencyKey = dependency.bindingKey();
+              if (dependencyKey.kind().equals(BindingKey.Kind.CONTRIBUTION)
+                  && cycles.get(bindingKey).equals(cycles.get(dependencyKey))) {
+                getter.addStatement("$L", getMemberSelectExpression(dependencyKey));
+                dependsOnCycle = true;
+              }
+            }
+            if (dependsOnCycle) {
+              getter
+                  .addStatement("local = $N", field)
+                  .beginControlFlow("if (local != null)")
+                  .addStatement("return local")
+                  .endControlFlow();
+            }
+            break;
+
+          default:
+            throw new AssertionError();
+        }
+      }
+
+      boolean unchecked = useRawType(resolvedBindings);
+      CodeBlock initialization;
+      if (switchingProviders.containsKey(bindingKey)) {
+        initialization = switchingProviders.get(bindingKey);
+      } else {
+        for (DependencyRequest dependency : frameworkDependencies(resolvedBindings)) {
+          unchecked |= usesUncheckedFrameworkInstance(dependency.bindingKey());
+        }
+        initialization =
+            bindingKey.kind().equals(BindingKey.Kind.CONTRIBUTION)
+                ? initializeFactoryForContributionBinding(resolvedBindings.contributionBinding())
+                : initializeMembersInjectorForBinding(
+                    resolvedBindings.membersInjectionBinding().get());
+      }
+      getter.addStatement("local = $L", initialization);
+      if (delegateField.isPresent()) {
+        getter.addStatement("$N.setDelegatedProvider(local)", delegateField.get());
+      }
+      if (unchecked) {
+        getter.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED);
+      }
+      component.addMethod(
+          getter
+              .addStatement("$N = local", field)
+              .endControlFlow()
+              .endControlFlow()
+              .endControlFlow()
+              .addStatement("return local")
+              .build());
+    }
+  }
+
+  private Optional<CodeBlock> switchingProvider(
+      BindingKey bindingKey, ContributionBinding binding) {
+    ClassName switchingProviderName = name.nestedClass("SwitchingProvider");
+    CodeBlock instance;
+    switch (binding.bindingKind()) {
+      case INJECTION:
+      case PROVISION:
+        if (!DirectInstanceBindings.canInvokeDirectly(binding, name.packageName())) {
+          return Optional.absent();
+        }
+        MemberSelect directInstanceMethod = getDirectInstanceMethod(bindingKey);
+        if (directInstanceMethod == null || !directInstanceMethod.owningClass().equals(name)) {
+          String methodName =
+              componentMethodNames.getUniqueName(
+                  "create" + LOWER_CAMEL.to(UPPER_CAMEL, KeyVariableNamer.INSTANCE.apply(
+                      binding.key())));
+          instanceCreationMethodNames.put(bindingKey, methodName);
+          directInstanceMethod = localMethod(name, methodName);
+        }
+        instance = directInstanceMethod.getExpressionFor(switchingProviderName);
+        break;
+
+      case COMPONENT_PROVISION:
+        {
+          if (!isTypeAccessibleFrom(binding.key().type(), name.packageName())) {
+            return Optional.absent();
+          }
+          TypeElement bindingTypeElement =
+              graph.componentDescriptor().dependencyMethodIndex().get(binding.bindingElement());
+          CodeBlock callFactoryMethod =
+              CodeBlocks.format(
+                  "$L.$L()",
+                  getComponentContributionExpression(bindingTypeElement),
+                  binding.bindingElement().getSimpleName().toString());
+          instance =
+              binding.nullableType().isPresent()
+                      || compilerOptions.nullableValidationKind().equals(Diagnostic.Kind.WARNING)
+                  ? callFactoryMethod
+                  : CodeBlocks.format(
+                      "$T.checkNotNull($L, $S)",
+                      Preconditions.class,
+                      callFactoryMethod,
+                      CANNOT_RETURN_NULL_FROM_NON_NULLABLE_COMPONENT_METHOD);
+          break;
+        }
+
+      case SUBCOMPONENT_BUILDER:
+        if (!isTypeAccessibleFrom(binding.key().type(), name.packageName())) {
+          return Optional.absent();
+        }
+        instance =
+            CodeBlocks.format(
+                "$T.this.$L()", name, binding.bindingElement().getSimpleName().toString());
+        break;
+
+      default:
+        return Optional.absent();
+    }
+
+    int id = switchingProviderCases.size();
+    switchingProviderCases.add(
+        CodeBlocks.format("case $L: return (T) $L;\n", id, instance));
+    return Optional.of(
+        decorateForScope(
+            binding,
+            CodeBlocks.format(
+                "new $T<$T>($L)",
+                switchingProviderName,
+                TypeName.get(binding.key().type()),
+                id)));
+  }
+
+  private static final int SWITCHING_PROVIDER_CASES_PER_METHOD = 100;
+
+  private void addSwitchingProvider() {
+    if (switchingProviderCases.isEmpty()) {
+      return;
+    }
+    TypeVariableName t = TypeVariableName.get("T");
+    TypeSpec.Builder switchingProvider =
+        TypeSpec.classBuilder("SwitchingProvider")
+            .addModifiers(PRIVATE, FINAL)
+            .addTypeVariable(t)
+            .addSuperinterface(ParameterizedTypeName.get(FACTORY, t))
+            .addField(int.class, "id", PRIVATE, FINAL)
+            .addMethod(
+                constructorBuilder()
+                    .addParameter(int.class, "id")
+                    .addStatement("this.id = id")
+                    .build());
+
+    MethodSpec.Builder get =
+        methodBuilder("get")
+            .addAnnotation(Override.class)
+            .addModifiers(PUBLIC)
+            .returns(t);
+    List<List<CodeBlock>> partitions =
+        Lists.partition(switchingProviderCases, SWITCHING_PROVIDER_CASES_PER_METHOD);
+    if (partitions.size() == 1) {
+      get.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED)
+          .addCode(switchOnId(CodeBlocks.concat(getOnlyElement(partitions))));
+    } else {
+      ImmutableList.Builder<CodeBlock> partitionCases = ImmutableList.builder();
+      for (int i = 0; i < partitions.size(); i++) {
+        String methodName = "get" + i;
+        switchingProvider.addMethod(
+            methodBuilder(methodName)
+                .addModifiers(PRIVATE)
+                .addAnnotation(SUPPRESS_WARNINGS_UNCHECKED)
+                .returns(t)
+                .addCode(switchOnId(CodeBlocks.concat(partitions.get(i))))
+                .build());
+        partitionCases.add(CodeBlocks.format("case $L: return $L();\n", i, methodName));
+      }
+      get.addCode(
+          CodeBlocks.format(
+              "switch (id / $L) {\n$>$L"
+                  + "default: throw new $T(id);\n$<}\n",
+              SWITCHING_PROVIDER_CASES_PER_METHOD,
+              CodeBlocks.concat(partitionCases.build()),
+              AssertionError.class));
+    }
+    component.addType(switchingProvider.addMethod(get.build()).build());
+  }
+
+  private static CodeBlock switchOnId(CodeBlock cases) {
+    return CodeBlocks.format(
+        "switch (id) {\n$>$L" + "default: throw new $T(id);\n$<}\n", cases, AssertionError.class);
+  }
+
+  private CodeBlock decorateForScope(ContributionBinding binding, CodeBlock factory) {
+    if (!binding.scope().isPresent()) {
+      return factory;
+    }
+    return CodeBlocks.format(
+        "$T.create($L)",
+        binding.scope().get().isReusable()
+            ? SINGLE_CHECK_PROVIDER
+            : compilerOptions.scopedProviderStrategy().providerClassName(),
+        factory);
+  }
+
+  private FieldSpec addDelegateFactoryField(FieldSpec frameworkField) {
+    FieldSpec.Builder delegateField;
+    if (frameworkField.type instanceof ParameterizedTypeName) {
+      delegateField =
+          componentField(
+              ParameterizedTypeName.get(
+                  DELEGATE_FACTORY,
+                  Iterables.toArray(
+                      ((ParameterizedTypeName) frameworkField.type).typeArguments,
+                      TypeName.class)),
+              frameworkField.name + "Delegate");
+    } else {
+      delegateField =
+          componentField(DELEGATE_FACTORY, frameworkField.name + "Delegate")
+              .addAnnotation(AnnotationSpecs.SUPPRESS_WARNINGS_RAWTYPES);
+    }
+    FieldSpec field = delegateField.addModifiers(PRIVATE).build();
+    component.addField(field);
+    return field;
+  }
+
+  private ImmutableSet<DependencyRequest> frameworkDependencies(ResolvedBindings resolvedBindings) {
+    Binding binding =
+        resolvedBindings.bindingKey().kind().equals(BindingKey.Kind.CONTRIBUTION)
+            ? resolvedBindings.contributionBinding()
+            : resolvedBindings.membersInjectionBinding().get();
+    return ImmutableSet.copyOf(binding.implicitDependencies());
+  }
+
   private Optional<CodeBlock> initializeFrameworkType(BindingKey bindingKey) {
     MemberSelect memberSelect = getMemberSelect(bindingKey);
-    if (memberSelect.staticMember() || !memberSelect.owningClass().equals(name)) {
+    if (memberSelect == null
+        || memberSelect.staticMember()
+        || !memberSelect.owningClass().equals(name)) {
       return Optional.absent();
     }
 
@@ -775,9 +1208,7 @@ abstract class AbstractComponentWriter {
                   "$T.create($L)",
                   generatedClassNameForBinding(binding),
                   makeParametersCodeBlock(arguments));
-          return binding.scope().isPresent()
-              ? CodeBlocks.format("$T.create($L)", SCOPED_PROVIDER, factoryCreate)
-              : factoryCreate;
+          return decorateForScope(binding, factoryCreate);
         }
 
       case EXECUTOR_DEPENDENCY:
@@ -792,13 +1223,18 @@ abstract class AbstractComponentWriter {
         {
           TypeElement bindingTypeElement =
               graph.componentDescriptor().dependencyMethodIndex().get(binding.bindingElement());
+          boolean completionStage =
+              isCompletionStageType(
+                  MoreElements.asExecutable(binding.bindingElement()).getReturnType());
           return CodeBlocks.format(
               Joiner.on('\n')
                   .join(
                       "new $1T<$2T>() {",
                       "  private final $6T $7L = $4L;",
                       "  @Override public $3T<$2T> get() {",
-                      "    return $7L.$5L();",
+                      completionStage
+                          ? "    return $8T.toListenableFuture($7L.$5L());"
+                          : "    return $7L.$5L();",
                       "  }",
                       "}"),
               PRODUCER,
@@ -807,7 +1243,8 @@ abstract class AbstractComponentWriter {
               getComponentContributionExpression(bindingTypeElement),
               binding.bindingElement().getSimpleName().toString(),
               TypeName.get(bindingTypeElement.asType()),
-              simpleVariableName(bindingTypeElement));
+              simpleVariableName(bindingTypeElement),
+              COMPLETION_STAGES);
         }
 
       case IMMEDIATE:
@@ -827,10 +1264,17 @@ abstract class AbstractComponentWriter {
         }
 
       case SYNTHETIC_MAP:
-        return CodeBlocks.format(
-            "$T.create($L)",
-            mapFactoryClassName(binding),
-            getMemberSelectExpression(getOnlyElement(binding.dependencies()).bindingKey()));
+        {
+          BindingKey mapOfFrameworkValuesKey =
+              getOnlyElement(binding.dependencies()).bindingKey();
+          return CodeBlocks.format(
+              binding.bindingType().equals(BindingType.PROVISION)
+                      && allMapValuesScoped(mapOfFrameworkValuesKey)
+                  ? "$T.createCached($L)"
+                  : "$T.create($L)",
+              mapFactoryClassName(binding),
+              getMemberSelectExpression(mapOfFrameworkValuesKey));
+        }
 
       case SYNTHETIC_MULTIBOUND_SET:
         return initializeFactoryForSetMultibinding(binding);
@@ -843,6 +1287,157 @@ abstract class AbstractComponentWriter {
     }
   }
 
+  private void addDirectInstanceMethods() {
+    for (BindingKey bindingKey : graph.resolvedBindings().keySet()) {
+      String methodName =
+          directInstanceMethodNames.containsKey(bindingKey)
+              ? directInstanceMethodNames.get(bindingKey)
+              : instanceCreationMethodNames.get(bindingKey);
+      if (methodName != null) {
+        component.addMethod(
+            directInstanceMethod(
+                methodName, graph.resolvedBindings().get(bindingKey).contributionBinding()));
+      }
+    }
+  }
+
+  private MethodSpec proxyDirectInstanceMethod(
+      MethodSpec.Builder method,
+      ContributionBinding binding,
+      List<CodeBlock> arguments,
+      boolean unchecked) {
+    List<CodeBlock> proxyArguments = Lists.newArrayList();
+    if (binding.bindingKind().equals(ContributionBinding.Kind.PROVISION)
+        && !binding.bindingElement().getModifiers().contains(STATIC)) {
+      Optional<CodeBlock> moduleExpression =
+          getOrCreateComponentContributionFieldExpression(binding.contributedBy().get());
+      checkState(
+          moduleExpression.isPresent(), "no component field for %s", binding.contributedBy());
+      proxyArguments.add(moduleExpression.get());
+    }
+    proxyArguments.addAll(arguments);
+    CodeBlock proxyInvocation =
+        CodeBlocks.format(
+            "$T.$L($L)",
+            generatedClassNameForBinding(binding),
+            proxyMethodName(binding),
+            makeParametersCodeBlock(proxyArguments));
+    if (binding.membersInjectionRequest().isPresent()) {
+      BindingKey membersInjectorKey = binding.membersInjectionRequest().get().bindingKey();
+      unchecked |= usesUncheckedFrameworkInstance(membersInjectorKey);
+      method
+          .addStatement(
+              "$T instance = $L", TypeName.get(binding.key().type()), proxyInvocation)
+          .addStatement(
+              "$L.injectMembers(instance)", getMemberSelectExpression(membersInjectorKey))
+          .addStatement("return instance");
+    } else {
+      if (binding.nullableType().isPresent()) {
+        method.addAnnotation((ClassName) TypeName.get(binding.nullableType().get()));
+      }
+      method.addStatement("return $L", proxyInvocation);
+    }
+    if (unchecked) {
+      method.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED);
+    }
+    return method.build();
+  }
+
+  private MethodSpec directInstanceMethod(String methodName, ContributionBinding binding) {
+    TypeName keyType = TypeName.get(binding.key().type());
+    MethodSpec.Builder method = methodBuilder(methodName).addModifiers(PRIVATE).returns(keyType);
+
+    boolean unchecked = false;
+    List<CodeBlock> arguments = Lists.newArrayListWithCapacity(binding.dependencies().size());
+    for (DependencyRequest dependency : binding.dependencies()) {
+      MemberSelect dependencyMethod = getDirectInstanceMethod(dependency.bindingKey());
+      if (dependency.kind().equals(DependencyRequest.Kind.INSTANCE) && dependencyMethod != null) {
+        arguments.add(dependencyMethod.getExpressionFor(name));
+        continue;
+      }
+      boolean uncheckedDependency = usesUncheckedFrameworkInstance(dependency.bindingKey());
+      CodeBlock dependencyArgument =
+          frameworkTypeUsageStatement(
+              getMemberSelectExpression(dependency.bindingKey()), dependency);
+      if (uncheckedDependency && dependency.kind().equals(DependencyRequest.Kind.INSTANCE)) {
+        dependencyArgument =
+            CodeBlocks.format("($T) $L", TypeName.get(dependency.key().type()), dependencyArgument);
+      }
+      arguments.add(dependencyArgument);
+      unchecked |= uncheckedDependency;
+    }
+    CodeBlock argumentsCodeBlock = makeParametersCodeBlock(arguments);
+
+    if (!isElementAccessibleFrom(binding.bindingElement(), name.packageName())) {
+      return proxyDirectInstanceMethod(method, binding, arguments, unchecked);
+    }
+
+    switch (binding.bindingKind()) {
+      case INJECTION:
+        if (binding.membersInjectionRequest().isPresent()) {
+          BindingKey membersInjectorKey = binding.membersInjectionRequest().get().bindingKey();
+          unchecked |= usesUncheckedFrameworkInstance(membersInjectorKey);
+          method
+              .addStatement("$1T instance = new $1T($2L)", keyType, argumentsCodeBlock)
+              .addStatement(
+                  "$L.injectMembers(instance)", getMemberSelectExpression(membersInjectorKey))
+              .addStatement("return instance");
+        } else {
+          method.addStatement("return new $T($L)", keyType, argumentsCodeBlock);
+        }
+        break;
+
+      case PROVISION:
+        CodeBlock providesMethodInvocation;
+        if (binding.bindingElement().getModifiers().contains(STATIC)) {
+          providesMethodInvocation =
+              CodeBlocks.format(
+                  "$T.$L($L)",
+                  ClassName.get(binding.bindingTypeElement()),
+                  binding.bindingElement().getSimpleName(),
+                  argumentsCodeBlock);
+        } else {
+          Optional<CodeBlock> moduleExpression =
+              getOrCreateComponentContributionFieldExpression(binding.contributedBy().get());
+          checkState(
+              moduleExpression.isPresent(), "no component field for %s", binding.contributedBy());
+          providesMethodInvocation =
+              CodeBlocks.format(
+                  "$L.$L($L)",
+                  moduleExpression.get(),
+                  binding.bindingElement().getSimpleName(),
+                  argumentsCodeBlock);
+        }
+        if (binding.nullableType().isPresent()
+            || compilerOptions.nullableValidationKind().equals(Diagnostic.Kind.WARNING)) {
+          if (binding.nullableType().isPresent()) {
+            method.addAnnotation((ClassName) TypeName.get(binding.nullableType().get()));
+          }
+          method.addStatement("return $L", providesMethodInvocation);
+        } else {
+          method.addStatement(
+              "return $T.checkNotNull($L, $S)",
+              Preconditions.class,
+              providesMethodInvocation,
+              CANNOT_RETURN_NULL_FROM_NON_NULLABLE_PROVIDES_METHOD);
+        }
+        break;
+
+      default:
+        throw new AssertionError(binding.toString());
+    }
+
+    if (unchecked) {
+      method.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED);
+    }
+    return method.build();
+  }
+
+  private boolean usesUncheckedFrameworkInstance(BindingKey bindingKey) {
+    return getMemberSelect(bindingKey).staticMember()
+        || useRawType(graph.resolvedBindings().get(bindingKey));
+  }
+
   private CodeBlock nullableAnnotation(Optional<DeclaredType> nullableType) {
     return nullableType.isPresent()
         ? CodeBlocks.format("@$T ", TypeName.get(nullableType.get()))
@@ -885,35 +1480,160 @@ abstract class AbstractComponentWriter {
   }
 
   private CodeBlock initializeFactoryForSetMultibinding(ContributionBinding binding) {
-    return CodeBlocks.format(
-        "$T.create($L)",
-        setFactoryClassName(binding.bindingType(), binding.key()),
-        makeParametersCodeBlock(getDependencyArguments(binding)));
+    SetType setType = SetType.from(binding.key().type());
+    ImmutableSet<FrameworkDependency> frameworkDependencies =
+        frameworkDependenciesForBinding(binding);
+    if (binding.bindingType().equals(BindingType.PRODUCTION)) {
+      ImmutableList.Builder<CodeBlock> arguments = ImmutableList.builder();
+      for (FrameworkDependency frameworkDependency : frameworkDependencies) {
+        BindingKey dependencyKey = frameworkDependency.bindingKey();
+        if (isIndividualSetContributionProvider(dependencyKey)) {
+          arguments.add(
+              CodeBlocks.format(
+                  "$T.producerFromProvider($L)",
+                  PRODUCERS,
+                  setFactoryMethod(
+                      setType, "singleton", getMemberSelectExpression(dependencyKey))));
+        } else if (graph.resolvedBindings().get(dependencyKey).frameworkClass()
+            .equals(Provider.class)) {
+          arguments.add(
+              CodeBlocks.format(
+                  "$T.producerFromProvider($L)",
+                  PRODUCERS,
+                  getMemberSelectExpression(dependencyKey)));
+        } else {
+          arguments.add(getDependencyArgument(frameworkDependency));
+        }
+      }
+      return CodeBlocks.format(
+          "$T.create($L)",
+          setFactoryClassName(binding.bindingType(), binding.key()),
+          makeParametersCodeBlock(arguments.build()));
+    }
+
+    int individualProviders = 0;
+    boolean allScoped = true;
+    for (FrameworkDependency frameworkDependency : frameworkDependencies) {
+      if (isIndividualSetContributionProvider(frameworkDependency.bindingKey())) {
+        individualProviders++;
+      }
+      allScoped &= isScopedContribution(frameworkDependency.bindingKey());
+    }
+    if (!allScoped && individualProviders == 1 && frameworkDependencies.size() == 1) {
+      return setFactoryMethod(
+          setType,
+          "singleton",
+          getDependencyArgument(getOnlyElement(frameworkDependencies)));
+    }
+    ImmutableList.Builder<CodeBlock> codeBlocks = ImmutableList.builder();
+    codeBlocks.add(
+        setFactoryMethod(
+            setType,
+            "builder",
+            CodeBlocks.format(
+                "$L, $L",
+                individualProviders,
+                frameworkDependencies.size() - individualProviders)));
+    for (FrameworkDependency frameworkDependency : frameworkDependencies) {
+      codeBlocks.add(
+          CodeBlocks.format(
+              isIndividualSetContributionProvider(frameworkDependency.bindingKey())
+                  ? ".addProvider($L)"
+                  : ".addCollectionProvider($L)",
+              getDependencyArgument(frameworkDependency)));
+    }
+    codeBlocks.add(CodeBlocks.format(allScoped ? ".buildCached()" : ".build()"));
+    return CodeBlocks.concat(codeBlocks.build());
+  }
+
+  private CodeBlock setFactoryMethod(SetType setType, String methodName, CodeBlock arguments) {
+    return isTypeAccessibleFrom(setType.elementType(), name.packageName())
+        ? CodeBlocks.format(
+            "$T.<$T>$L($L)",
+            SET_FACTORY,
+            TypeName.get(setType.elementType()),
+            methodName,
+            arguments)
+        : CodeBlocks.format("$T.$L($L)", SET_FACTORY, methodName, arguments);
+  }
+
+  private boolean isIndividualSetContributionProvider(BindingKey bindingKey) {
+    ContributionBinding contribution =
+        graph.resolvedBindings().get(bindingKey).contributionBinding();
+    return contribution.provisionType().equals(Provides.Type.SET)
+        && contribution.bindingType().equals(BindingType.PROVISION);
+  }
+
+  private boolean allMapValuesScoped(BindingKey mapOfProvidersKey) {
+    ContributionBinding mapOfProviders =
+        graph.resolvedBindings().get(mapOfProvidersKey).contributionBinding();
+    if (!mapOfProviders.bindingKind().equals(ContributionBinding.Kind.SYNTHETIC_MULTIBOUND_MAP)) {
+      return false;
+    }
+    for (DependencyRequest contribution : mapOfProviders.dependencies()) {
+      if (!isScopedContribution(contribution.bindingKey())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean isScopedContribution(BindingKey bindingKey) {
+    ResolvedBindings resolvedBindings = graph.resolvedBindings().get(bindingKey);
+    return resolvedBindings != null
+        && resolvedBindings.contributionBindings().size() == 1
+        && resolvedBindings.contributionBinding().scope().isPresent();
   }
 
   private CodeBlock initializeFactoryForMapMultibinding(ContributionBinding binding) {
     ImmutableSet<FrameworkDependency> frameworkDependencies =
         FrameworkDependency.frameworkDependenciesForBinding(binding);
+    ImmutableList.Builder<CodeBlock> mapKeys = ImmutableList.builder();
+    for (FrameworkDependency frameworkDependency : frameworkDependencies) {
+      ContributionBinding contributionBinding =
+          graph.resolvedBindings().get(frameworkDependency.bindingKey()).contributionBinding();
+      mapKeys.add(getMapKeyExpression(contributionBinding.bindingElement()));
+    }
 
     ImmutableList.Builder<CodeBlock> codeBlocks = ImmutableList.builder();
     MapType mapType = MapType.from(binding.key().type());
-    codeBlocks.add(
-        CodeBlocks.format(
-            "$T.<$T, $T>builder($L)",
-            frameworkMapFactoryClassName(binding.bindingType()),
-            TypeName.get(mapType.keyType()),
-            TypeName.get(
-                mapType.unwrappedValueType(binding.bindingType().frameworkClass())),
-            frameworkDependencies.size()));
+    TypeName keyType = TypeName.get(mapType.keyType());
+    TypeName valueType =
+        TypeName.get(mapType.unwrappedValueType(binding.bindingType().frameworkClass()));
+    Optional<String> primitiveKeyBuilder = primitiveKeyBuilderMethod(binding, keyType);
+    if (primitiveKeyBuilder.isPresent()) {
+      codeBlocks.add(
+          CodeBlocks.format(
+              "$T.<$T>$L($L)",
+              MAP_PROVIDER_FACTORY,
+              valueType,
+              primitiveKeyBuilder.get(),
+              frameworkDependencies.size()));
+    } else if (compilerOptions.switchStringKeyMaps()
+        && binding.bindingType().equals(BindingType.PROVISION)
+        && keyType.equals(STRING)) {
+      codeBlocks.add(
+          CodeBlocks.format(
+              "$T.<$T>stringKeyBuilder(new $N())",
+              MAP_PROVIDER_FACTORY,
+              valueType,
+              addStringKeysType(binding.key(), mapKeys.build())));
+    } else {
+      codeBlocks.add(
+          CodeBlocks.format(
+              "$T.<$T, $T>builder($L)",
+              frameworkMapFactoryClassName(binding.bindingType()),
+              keyType,
+              valueType,
+              frameworkDependencies.size()));
+    }
 
+    Iterator<CodeBlock> mapKeyIterator = mapKeys.build().iterator();
     for (FrameworkDependency frameworkDependency : frameworkDependencies) {
-      BindingKey bindingKey = frameworkDependency.bindingKey();
-      ContributionBinding contributionBinding =
-          graph.resolvedBindings().get(bindingKey).contributionBinding();
       codeBlocks.add(
           CodeBlocks.format(
               ".put($L, $L)",
-              getMapKeyExpression(contributionBinding.bindingElement()),
+              mapKeyIterator.next(),
               getDependencyArgument(frameworkDependency)));
     }
     codeBlocks.add(CodeBlocks.format(".build()"));
@@ -921,10 +1641,74 @@ abstract class AbstractComponentWriter {
     return CodeBlocks.concat(codeBlocks.build());
   }
 
+  private TypeSpec addStringKeysType(Key mapKey, ImmutableList<CodeBlock> mapKeys) {
+    ImmutableList.Builder<CodeBlock> cases = ImmutableList.builder();
+    for (int i = 0; i < mapKeys.size(); i++) {
+      cases.add(CodeBlocks.format("case $L: return $L;\n", mapKeys.get(i), i));
+    }
+    TypeSpec stringKeys =
+        TypeSpec.classBuilder(
+                componentTypeNames.getUniqueName(
+                    LOWER_CAMEL.to(UPPER_CAMEL, KeyVariableNamer.INSTANCE.apply(mapKey))
+                        + "Keys"))
+            .addModifiers(PRIVATE, FINAL)
+            .superclass(STRING_KEYS)
+            .addMethod(
+                constructorBuilder()
+                    .addStatement("super($L)", makeParametersCodeBlock(mapKeys))
+                    .build())
+            .addMethod(
+                methodBuilder("indexOfKey")
+                    .addAnnotation(Override.class)
+                    .addModifiers(PROTECTED)
+                    .returns(int.class)
+                    .addParameter(String.class, "key")
+                    .addCode(
+                        CodeBlocks.format(
+                            "switch (key) {\n$>$Ldefault: return -1;\n$<}\n",
+                            CodeBlocks.concat(cases.build())))
+                    .build())
+            .build();
+    component.addType(stringKeys);
+    return stringKeys;
+  }
+
+  private static Optional<String> primitiveKeyBuilderMethod(
+      ContributionBinding binding, TypeName keyType) {
+    if (binding.bindingType().equals(BindingType.PROVISION)) {
+      if (keyType.equals(ClassName.get(Integer.class))) {
+        return Optional.of("intKeyBuilder");
+      } else if (keyType.equals(ClassName.get(Long.class))) {
+        return Optional.of("longKeyBuilder");
+      }
+    }
+    return Optional.absent();
+  }
+
   private static String simpleVariableName(TypeElement typeElement) {
     return UPPER_CAMEL.to(LOWER_CAMEL, typeElement.getSimpleName().toString());
   }
 
+  private ImmutableMap<BindingKey, Integer> frameworkFieldCycles() {
+    return DependencyCycles.find(
+        lazyFrameworkFields.keySet(),
+        new Function<BindingKey, ImmutableList<BindingKey>>() {
+          @Override
+          public ImmutableList<BindingKey> apply(BindingKey bindingKey) {
+            ImmutableList.Builder<BindingKey> dependencyKeys = ImmutableList.builder();
+            if (!switchingProviderKeys.contains(bindingKey)) {
+              for (DependencyRequest dependency :
+                  frameworkDependencies(graph.resolvedBindings().get(bindingKey))) {
+                if (lazyFrameworkFields.containsKey(dependency.bindingKey())) {
+                  dependencyKeys.add(dependency.bindingKey());
+                }
+              }
+            }
+            return dependencyKeys.build();
+          }
+        });
+  }
+
   enum InitializationState {
     UNINITIALIZED,
 
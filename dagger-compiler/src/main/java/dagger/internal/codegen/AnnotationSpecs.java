@@ -8,9 +8,15 @@ final class AnnotationSpecs {
 
   static final AnnotationSpec SUPPRESS_WARNINGS_UNCHECKED = suppressWarnings("unchecked");
   static final AnnotationSpec SUPPRESS_WARNINGS_RAWTYPES = suppressWarnings("rawtypes");
+  static final AnnotationSpec SUPPRESS_WARNINGS_UNCHECKED_RAWTYPES =
+      suppressWarnings("unchecked", "rawtypes");
 
-  private static AnnotationSpec suppressWarnings(String value) {
-    return AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", value).build();
+  private static AnnotationSpec suppressWarnings(String... values) {
+    AnnotationSpec.Builder builder = AnnotationSpec.builder(SuppressWarnings.class);
+    for (String value : values) {
+      builder.addMember("value", "$S", value);
+    }
+    return builder.build();
   }
 
   static final AnnotationSpec PROVIDES_SET_VALUES =
@@ -25,6 +25,7 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -249,7 +250,7 @@ abstract class BindingGraph {
       final ImmutableSetMultimap<Key, ContributionBinding> explicitMultibindings;
       final ImmutableSetMultimap<Key, MultibindingDeclaration> multibindingDeclarations;
       final Map<BindingKey, ResolvedBindings> resolvedBindings;
-      final Deque<BindingKey> cycleStack = new ArrayDeque<>();
+      final Set<BindingKey> keysBeingResolved = new HashSet<>();
       final Cache<BindingKey, Boolean> dependsOnLocalMultibindingsCache =
           CacheBuilder.newBuilder().<BindingKey, Boolean>build();
       final Cache<Binding, Boolean> bindingDependsOnLocalMultibindingsCache =
@@ -400,7 +401,7 @@ abstract class BindingGraph {
         }
 
         Optional<Scope> bindingScope = binding.scope();
-        if (bindingScope.isPresent()) {
+        if (bindingScope.isPresent() && !bindingScope.get().isReusable()) {
           for (Resolver requestResolver : getResolverLineage().reverse()) {
             if (requestResolver.componentDescriptor.scopes().contains(bindingScope.get())) {
               return Optional.of(requestResolver);
@@ -479,9 +480,35 @@ abstract class BindingGraph {
       }
 
       void resolve(DependencyRequest request) {
+        Deque<ResolvedBindings> bindingsBeingResolved = new ArrayDeque<>();
+        Deque<Iterator<DependencyRequest>> dependencyIterators = new ArrayDeque<>();
+        try {
+          startResolving(request, bindingsBeingResolved, dependencyIterators);
+          while (!dependencyIterators.isEmpty()) {
+            Iterator<DependencyRequest> dependencies = dependencyIterators.peek();
+            if (dependencies.hasNext()) {
+              startResolving(dependencies.next(), bindingsBeingResolved, dependencyIterators);
+            } else {
+              dependencyIterators.pop();
+              ResolvedBindings bindings = bindingsBeingResolved.pop();
+              keysBeingResolved.remove(bindings.bindingKey());
+              resolvedBindings.put(bindings.bindingKey(), bindings);
+            }
+          }
+        } finally {
+          for (ResolvedBindings bindings : bindingsBeingResolved) {
+            keysBeingResolved.remove(bindings.bindingKey());
+          }
+        }
+      }
+
+      private void startResolving(
+          DependencyRequest request,
+          Deque<ResolvedBindings> bindingsBeingResolved,
+          Deque<Iterator<DependencyRequest>> dependencyIterators) {
         BindingKey bindingKey = request.bindingKey();
 
-        if (cycleStack.contains(bindingKey)) {
+        if (keysBeingResolved.contains(bindingKey)) {
           return;
         }
 
@@ -499,18 +526,14 @@ abstract class BindingGraph {
           return;
         }
 
-        cycleStack.push(bindingKey);
-        try {
-          ResolvedBindings bindings = lookUpBindings(request);
-          for (Binding binding : bindings.ownedBindings()) {
-            for (DependencyRequest dependency : binding.implicitDependencies()) {
-              resolve(dependency);
-            }
-          }
-          resolvedBindings.put(bindingKey, bindings);
-        } finally {
-          cycleStack.pop();
+        ResolvedBindings bindings = lookUpBindings(request);
+        ImmutableList.Builder<DependencyRequest> dependencies = ImmutableList.builder();
+        for (Binding binding : bindings.ownedBindings()) {
+          dependencies.addAll(binding.implicitDependencies());
         }
+        keysBeingResolved.add(bindingKey);
+        bindingsBeingResolved.push(bindings);
+        dependencyIterators.push(dependencies.build().iterator());
       }
 
       ImmutableMap<BindingKey, ResolvedBindings> getResolvedBindings() {
@@ -592,7 +615,7 @@ abstract class BindingGraph {
                 new Callable<Boolean>() {
                   @Override
                   public Boolean call() {
-                    if (!binding.scope().isPresent()
+                    if ((!binding.scope().isPresent() || binding.scope().get().isReusable())
                         && !binding.bindingType().equals(BindingType.PRODUCTION)) {
                       for (DependencyRequest dependency : binding.implicitDependencies()) {
                         if (dependsOnLocalMultibindings(dependency.bindingKey())) {
@@ -126,6 +126,9 @@ public class BindingGraphValidator {
     final BindingGraph subject;
     final ValidationReport.Builder<TypeElement> reportBuilder;
     final Optional<Validation> parent;
+    final Set<DependencyRequest> validatedRequests = new HashSet<>();
+    final Set<BindingKey> validatedBindings = new HashSet<>();
+    ImmutableSet<BindingKey> keysInCycles;
 
     Validation(BindingGraph subject, Optional<Validation> parent) {
       this.subject = subject;
@@ -152,6 +155,7 @@ public class BindingGraphValidator {
       validateComponentHierarchy();
       validateBuilders();
 
+      keysInCycles = keysInCycles();
       for (ComponentMethodDescriptor componentMethod :
            subject.componentDescriptor().componentMethods()) {
         Optional<DependencyRequest> entryPoint = componentMethod.dependencyRequest();
@@ -214,12 +218,65 @@ public class BindingGraphValidator {
       return asTypeElements(factoryMethodType.getParameterTypes());
     }
 
+    private ImmutableSet<BindingKey> keysInCycles() {
+      return DependencyCycles.find(
+              subject.resolvedBindings().keySet(),
+              new Function<BindingKey, ImmutableSet<BindingKey>>() {
+                @Override
+                public ImmutableSet<BindingKey> apply(BindingKey bindingKey) {
+                  return dependencyKeys(bindingKey);
+                }
+              })
+          .keySet();
+    }
+
+    private ImmutableSet<BindingKey> dependencyKeys(BindingKey bindingKey) {
+      ResolvedBindings resolvedBindings = subject.resolvedBindings().get(bindingKey);
+      if (resolvedBindings == null) {
+        return ImmutableSet.of();
+      }
+      ImmutableSet.Builder<BindingKey> dependencyKeys = ImmutableSet.builder();
+      for (Binding binding : resolvedBindings.bindings()) {
+        for (DependencyRequest dependency : binding.implicitDependencies()) {
+          dependencyKeys.add(dependency.bindingKey());
+        }
+      }
+      return dependencyKeys.build();
+    }
+
     private void traverseRequest(
         DependencyRequest request,
         Deque<ResolvedRequest> bindingPath,
         LinkedHashSet<BindingKey> keysInPath,
         BindingGraph graph,
         Set<DependencyRequest> resolvedRequests) {
+      Deque<Iterator<DependencyRequest>> dependencyIterators = new ArrayDeque<>();
+      enterRequest(
+          request, bindingPath, keysInPath, graph, resolvedRequests, dependencyIterators);
+      while (!dependencyIterators.isEmpty()) {
+        Iterator<DependencyRequest> dependencies = dependencyIterators.peek();
+        if (dependencies.hasNext()) {
+          enterRequest(
+              dependencies.next(),
+              bindingPath,
+              keysInPath,
+              graph,
+              resolvedRequests,
+              dependencyIterators);
+        } else {
+          dependencyIterators.pop();
+          keysInPath.remove(bindingPath.poll().request().bindingKey());
+        }
+      }
+    }
+
+    private void enterRequest(
+        DependencyRequest request,
+        Deque<ResolvedRequest> bindingPath,
+        LinkedHashSet<BindingKey> keysInPath,
+        BindingGraph graph,
+        Set<DependencyRequest> resolvedRequests,
+        Deque<Iterator<DependencyRequest>> dependencyIterators) {
       verify(bindingPath.size() == keysInPath.size(),
           "mismatched path vs keys -- (%s vs %s)", bindingPath, keysInPath);
       BindingKey requestKey = request.bindingKey();
@@ -231,19 +288,19 @@ public class BindingGraphValidator {
         return;
       }
 
-      if (resolvedRequests.add(request)) {
+      Set<DependencyRequest> traversedRequests =
+          keysInCycles.contains(requestKey) ? resolvedRequests : validatedRequests;
+      if (traversedRequests.add(request)) {
         ResolvedRequest resolvedRequest = ResolvedRequest.create(request, graph);
         bindingPath.push(resolvedRequest);
         keysInPath.add(requestKey);
         validateResolvedBinding(bindingPath, resolvedRequest.binding());
 
+        ImmutableList.Builder<DependencyRequest> dependencies = ImmutableList.builder();
         for (Binding binding : resolvedRequest.binding().bindings()) {
-          for (DependencyRequest nextRequest : binding.implicitDependencies()) {
-            traverseRequest(nextRequest, bindingPath, keysInPath, graph, resolvedRequests);
-          }
+          dependencies.addAll(binding.implicitDependencies());
         }
-        bindingPath.poll();
-        keysInPath.remove(requestKey);
+        dependencyIterators.push(dependencies.build().iterator());
       }
     }
 
@@ -263,7 +320,9 @@ public class BindingGraphValidator {
           }
           validateNullability(path.peek().request(), resolvedBinding.contributionBindings());
           if (resolvedBinding.contributionBindings().size() > 1) {
-            reportDuplicateBindings(path);
+            if (validatedBindings.add(resolvedBinding.bindingKey())) {
+              reportDuplicateBindings(path);
+            }
             return;
           }
           ContributionBinding contributionBinding = resolvedBinding.contributionBinding();
@@ -272,6 +331,9 @@ public class BindingGraphValidator {
             reportProviderMayNotDependOnProducer(path);
             return;
           }
+          if (!validatedBindings.add(resolvedBinding.bindingKey())) {
+            return;
+          }
           if (compilerOptions.usesProducers()) {
             Key productionImplementationExecutorKey =
                 keyFactory.forProductionImplementationExecutor();
@@ -299,6 +361,9 @@ public class BindingGraphValidator {
             throw new AssertionError(
                 "members injection binding keys should never have contribution bindings");
           }
+          if (!validatedBindings.add(resolvedBinding.bindingKey())) {
+            return;
+          }
           if (resolvedBinding.bindings().size() > 1) {
             reportDuplicateBindings(path);
             return;
@@ -683,7 +748,9 @@ public class BindingGraphValidator {
       for (ResolvedBindings bindings : resolvedBindings.values()) {
         for (ContributionBinding contributionBinding : bindings.ownedContributionBindings()) {
           Optional<Scope> bindingScope = contributionBinding.scope();
-          if (bindingScope.isPresent() && !componentScopes.contains(bindingScope.get())) {
+          if (bindingScope.isPresent()
+              && !bindingScope.get().isReusable()
+              && !componentScopes.contains(bindingScope.get())) {
             switch (contributionBinding.bindingKind()) {
               case PROVISION:
                 ExecutableElement provisionMethod =
@@ -2,6 +2,7 @@ package dagger.internal.codegen;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Ascii;
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSet;
 import dagger.producers.Produces;
 import java.util.EnumSet;
@@ -19,6 +20,15 @@ abstract class CompilerOptions {
   abstract Diagnostic.Kind privateMemberValidationKind();
   abstract Diagnostic.Kind staticMemberValidationKind();
   abstract ValidationType scopeCycleValidationType();
+  abstract ScopedProviderStrategy scopedProviderStrategy();
+  abstract boolean fastInit();
+  abstract boolean parallelComponentFormatting();
+  abstract Optional<String> metricsReport();
+  abstract boolean formatGeneratedSource();
+  abstract boolean switchStringKeyMaps();
+  abstract boolean providerIndex();
+  abstract int producerDirectExecutionDepth();
+  abstract boolean cancellableProductionExecutor();
 
   static Builder builder() {
     return new AutoValue_CompilerOptions.Builder();
@@ -35,6 +45,18 @@ abstract class CompilerOptions {
         .staticMemberValidationKind(
             staticMemberValidationType(processingEnv).diagnosticKind().get())
         .scopeCycleValidationType(scopeValidationType(processingEnv))
+        .scopedProviderStrategy(scopedProviderStrategy(processingEnv))
+        .fastInit(fastInit(processingEnv).equals(FeatureStatus.ENABLED))
+        .parallelComponentFormatting(
+            parallelComponentFormatting(processingEnv).equals(FeatureStatus.ENABLED))
+        .metricsReport(Optional.fromNullable(processingEnv.getOptions().get(METRICS_REPORT_KEY)))
+        .formatGeneratedSource(
+            formatGeneratedSource(processingEnv).equals(FeatureStatus.ENABLED))
+        .switchStringKeyMaps(switchStringKeyMaps(processingEnv).equals(FeatureStatus.ENABLED))
+        .providerIndex(providerIndex(processingEnv).equals(FeatureStatus.ENABLED))
+        .producerDirectExecutionDepth(producerDirectExecutionDepth(processingEnv))
+        .cancellableProductionExecutor(
+            cancellableProductionExecutor(processingEnv).equals(FeatureStatus.ENABLED))
         .build();
   }
 
@@ -46,6 +68,15 @@ abstract class CompilerOptions {
     Builder privateMemberValidationKind(Diagnostic.Kind kind);
     Builder staticMemberValidationKind(Diagnostic.Kind kind);
     Builder scopeCycleValidationType(ValidationType type);
+    Builder scopedProviderStrategy(ScopedProviderStrategy strategy);
+    Builder fastInit(boolean fastInit);
+    Builder parallelComponentFormatting(boolean parallelComponentFormatting);
+    Builder metricsReport(Optional<String> path);
+    Builder formatGeneratedSource(boolean formatGeneratedSource);
+    Builder switchStringKeyMaps(boolean switchStringKeyMaps);
+    Builder providerIndex(boolean providerIndex);
+    Builder producerDirectExecutionDepth(int depth);
+    Builder cancellableProductionExecutor(boolean cancellableProductionExecutor);
     CompilerOptions build();
   }
 
@@ -60,12 +91,41 @@ abstract class CompilerOptions {
 
   static final String STATIC_MEMBER_VALIDATION_TYPE_KEY = "dagger.staticMemberValidation";
 
+  static final String SCOPED_PROVIDER_STRATEGY_KEY = "dagger.scopedProviderStrategy";
+
+  static final String FAST_INIT_KEY = "dagger.fastInit";
+
+  static final String PARALLEL_COMPONENT_FORMATTING_KEY = "dagger.parallelComponentFormatting";
+
+  static final String METRICS_REPORT_KEY = "dagger.metricsReport";
+
+  static final String FORMAT_GENERATED_SOURCE_KEY = "dagger.formatGeneratedSource";
+
+  static final String SWITCH_STRING_KEY_MAPS_KEY = "dagger.switchStringKeyMaps";
+
+  static final String PROVIDER_INDEX_KEY = "dagger.providerIndex";
+
+  static final String PRODUCER_DIRECT_EXECUTION_DEPTH_KEY =
+      "dagger.producerDirectExecutionDepth";
+
+  static final String CANCELLABLE_PRODUCTION_EXECUTOR_KEY =
+      "dagger.cancellableProductionExecutor";
+
   static final ImmutableSet<String> SUPPORTED_OPTIONS = ImmutableSet.of(
         WRITE_PRODUCER_NAME_IN_TOKEN_KEY,
         DISABLE_INTER_COMPONENT_SCOPE_VALIDATION_KEY,
         NULLABLE_VALIDATION_KEY,
         PRIVATE_MEMBER_VALIDATION_TYPE_KEY,
-        STATIC_MEMBER_VALIDATION_TYPE_KEY);
+        STATIC_MEMBER_VALIDATION_TYPE_KEY,
+        SCOPED_PROVIDER_STRATEGY_KEY,
+        FAST_INIT_KEY,
+        PARALLEL_COMPONENT_FORMATTING_KEY,
+        METRICS_REPORT_KEY,
+        FORMAT_GENERATED_SOURCE_KEY,
+        SWITCH_STRING_KEY_MAPS_KEY,
+        PROVIDER_INDEX_KEY,
+        PRODUCER_DIRECT_EXECUTION_DEPTH_KEY,
+        CANCELLABLE_PRODUCTION_EXECUTOR_KEY);
 
   private static FeatureStatus writeProducerNameInToken(ProcessingEnvironment processingEnv) {
     return valueOf(
@@ -107,6 +167,88 @@ abstract class CompilerOptions {
         EnumSet.of(ValidationType.ERROR, ValidationType.WARNING));
   }
 
+  private static ScopedProviderStrategy scopedProviderStrategy(
+      ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        SCOPED_PROVIDER_STRATEGY_KEY,
+        ScopedProviderStrategy.SYNCHRONIZED,
+        EnumSet.allOf(ScopedProviderStrategy.class));
+  }
+
+  private static FeatureStatus fastInit(ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        FAST_INIT_KEY,
+        FeatureStatus.DISABLED,
+        EnumSet.allOf(FeatureStatus.class));
+  }
+
+  private static FeatureStatus parallelComponentFormatting(ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        PARALLEL_COMPONENT_FORMATTING_KEY,
+        FeatureStatus.DISABLED,
+        EnumSet.allOf(FeatureStatus.class));
+  }
+
+  private static FeatureStatus formatGeneratedSource(ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        FORMAT_GENERATED_SOURCE_KEY,
+        FeatureStatus.ENABLED,
+        EnumSet.allOf(FeatureStatus.class));
+  }
+
+  private static FeatureStatus switchStringKeyMaps(ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        SWITCH_STRING_KEY_MAPS_KEY,
+        FeatureStatus.DISABLED,
+        EnumSet.allOf(FeatureStatus.class));
+  }
+
+  private static FeatureStatus providerIndex(ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        PROVIDER_INDEX_KEY,
+        FeatureStatus.DISABLED,
+        EnumSet.allOf(FeatureStatus.class));
+  }
+
+  private static int producerDirectExecutionDepth(ProcessingEnvironment processingEnv) {
+    String value = processingEnv.getOptions().get(PRODUCER_DIRECT_EXECUTION_DEPTH_KEY);
+    if (value == null) {
+      return 0;
+    }
+    try {
+      int depth = Integer.parseInt(value.trim());
+      if (depth < 0) {
+        throw new NumberFormatException();
+      }
+      return depth;
+    } catch (NumberFormatException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.ERROR,
+              "Processor option -A"
+                  + PRODUCER_DIRECT_EXECUTION_DEPTH_KEY
+                  + " must be a non-negative integer, found: "
+                  + value);
+      return 0;
+    }
+  }
+
+  private static FeatureStatus cancellableProductionExecutor(
+      ProcessingEnvironment processingEnv) {
+    return valueOf(
+        processingEnv,
+        CANCELLABLE_PRODUCTION_EXECUTOR_KEY,
+        FeatureStatus.DISABLED,
+        EnumSet.allOf(FeatureStatus.class));
+  }
+
   private static <T extends Enum<T>> T valueOf(
       ProcessingEnvironment processingEnv, String key, T defaultValue, Set<T> validValues) {
     Map<String, String> options = processingEnv.getOptions();
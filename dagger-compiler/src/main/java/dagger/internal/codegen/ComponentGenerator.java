@@ -21,8 +21,9 @@ final class ComponentGenerator extends JavaPoetSourceFileGenerator<BindingGraph>
       Elements elements,
       Types types,
       Key.Factory keyFactory,
-      CompilerOptions compilerOptions) {
-    super(filer, elements);
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
     this.types = types;
     this.elements = elements;
     this.keyFactory = keyFactory;
@@ -2,26 +2,41 @@ package dagger.internal.codegen;
 
 import com.google.auto.common.BasicAnnotationProcessor.ProcessingStep;
 import com.google.auto.common.MoreElements;
+import com.google.common.base.Optional;
 import com.google.common.base.Predicates;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.Uninterruptibles;
 import dagger.Component;
 import dagger.Subcomponent;
 import dagger.internal.codegen.ComponentDescriptor.Factory;
 import dagger.internal.codegen.ComponentValidator.ComponentValidationReport;
+import dagger.internal.codegen.JavaPoetSourceFileGenerator.PendingSourceFile;
 import dagger.producers.ProductionComponent;
 import dagger.producers.ProductionSubcomponent;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.annotation.processing.Messager;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic.Kind;
 
+import static dagger.internal.codegen.ProcessorMetrics.Phase.BINDING_GRAPH;
+import static dagger.internal.codegen.ProcessorMetrics.Phase.COMPONENT_DESCRIPTOR;
+import static dagger.internal.codegen.ProcessorMetrics.Phase.GRAPH_VALIDATION;
+
 final class ComponentProcessingStep implements ProcessingStep {
   private final ComponentDescriptor.Kind componentKind;
   private final Messager messager;
@@ -33,6 +48,8 @@ final class ComponentProcessingStep implements ProcessingStep {
   private final ComponentDescriptor.Factory componentDescriptorFactory;
   private final BindingGraph.Factory bindingGraphFactory;
   private final ComponentGenerator componentGenerator;
+  private final CompilerOptions compilerOptions;
+  private final ProcessorMetrics metrics;
 
   ComponentProcessingStep(
       ComponentDescriptor.Kind componentKind,
@@ -44,7 +61,9 @@ final class ComponentProcessingStep implements ProcessingStep {
       BindingGraphValidator bindingGraphValidator,
       Factory componentDescriptorFactory,
       BindingGraph.Factory bindingGraphFactory,
-      ComponentGenerator componentGenerator) {
+      ComponentGenerator componentGenerator,
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
     this.componentKind = componentKind;
     this.messager = messager;
     this.componentValidator = componentValidator;
@@ -55,6 +74,8 @@ final class ComponentProcessingStep implements ProcessingStep {
     this.componentDescriptorFactory = componentDescriptorFactory;
     this.bindingGraphFactory = bindingGraphFactory;
     this.componentGenerator = componentGenerator;
+    this.compilerOptions = compilerOptions;
+    this.metrics = metrics;
   }
 
   @Override
@@ -94,6 +115,7 @@ final class ComponentProcessingStep implements ProcessingStep {
     Map<Element, ValidationReport<TypeElement>> reportsBySubcomponent =
         processSubcomponents(subcomponentElements, subcomponentBuilderElements);
 
+    List<PendingSourceFile> pendingComponents = new ArrayList<>();
     for (Element element : elementsByAnnotation.get(componentKind.annotationType())) {
       TypeElement componentTypeElement = MoreElements.asType(element);
       try {
@@ -106,18 +128,29 @@ final class ComponentProcessingStep implements ProcessingStep {
             builderReportsByComponent,
             reportsBySubcomponent,
             builderReportsBySubcomponent)) {
+          Stopwatch stopwatch = Stopwatch.createStarted();
           ComponentDescriptor componentDescriptor =
               componentDescriptorFactory.forComponent(componentTypeElement);
+          metrics.record(COMPONENT_DESCRIPTOR, componentTypeElement, stopwatch);
           ValidationReport<TypeElement> hierarchyReport =
               componentHierarchyValidator.validate(componentDescriptor);
           hierarchyReport.printMessagesTo(messager);
           if (hierarchyReport.isClean()) {
+            stopwatch.reset().start();
             BindingGraph bindingGraph = bindingGraphFactory.create(componentDescriptor);
+            metrics.record(BINDING_GRAPH, componentTypeElement, stopwatch);
+            metrics.recordComponentSize(bindingGraph);
+            stopwatch.reset().start();
             ValidationReport<TypeElement> graphReport =
                 bindingGraphValidator.validate(bindingGraph);
+            metrics.record(GRAPH_VALIDATION, componentTypeElement, stopwatch);
             graphReport.printMessagesTo(messager);
             if (graphReport.isClean()) {
-              generateComponent(bindingGraph);
+              if (compilerOptions.parallelComponentFormatting()) {
+                pendingComponents.addAll(prepareComponent(bindingGraph).asSet());
+              } else {
+                generateComponent(bindingGraph);
+              }
             }
           }
         }
@@ -125,6 +158,7 @@ final class ComponentProcessingStep implements ProcessingStep {
         rejectedElements.add(componentTypeElement);
       }
     }
+    writeFormattedInParallel(pendingComponents);
     return rejectedElements.build();
   }
 
@@ -136,6 +170,54 @@ final class ComponentProcessingStep implements ProcessingStep {
     }
   }
 
+  private Optional<PendingSourceFile> prepareComponent(BindingGraph bindingGraph) {
+    try {
+      return componentGenerator.prepare(bindingGraph);
+    } catch (SourceFileGenerationException e) {
+      e.printMessageTo(messager);
+      return Optional.absent();
+    }
+  }
+
+  private void writeFormattedInParallel(List<PendingSourceFile> pendingComponents) {
+    if (pendingComponents.isEmpty()) {
+      return;
+    }
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      List<ForkJoinTask<String>> formattedSources = new ArrayList<>();
+      for (final PendingSourceFile pendingComponent : pendingComponents) {
+        formattedSources.add(
+            pool.submit(
+                new Callable<String>() {
+                  @Override
+                  public String call() throws SourceFileGenerationException {
+                    return pendingComponent.format();
+                  }
+                }));
+      }
+      for (int i = 0; i < pendingComponents.size(); i++) {
+        try {
+          pendingComponents.get(i).write(getFormattedSource(formattedSources.get(i)));
+        } catch (SourceFileGenerationException e) {
+          e.printMessageTo(messager);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static String getFormattedSource(ForkJoinTask<String> formattedSource)
+      throws SourceFileGenerationException {
+    try {
+      return Uninterruptibles.getUninterruptibly(formattedSource);
+    } catch (ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause(), SourceFileGenerationException.class);
+      throw new AssertionError(e.getCause());
+    }
+  }
+
   private ImmutableSet<Element> getElementsFromAnnotations(
       final SetMultimap<Class<? extends Annotation>, Element> elementsByAnnotation,
       ImmutableSet<Class<? extends Annotation>> annotations) {
@@ -16,6 +16,7 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
   private InjectBindingRegistry injectBindingRegistry;
   private FactoryGenerator factoryGenerator;
   private MembersInjectorGenerator membersInjectorGenerator;
+  private ProcessorMetrics metrics;
 
   @Override
   public SourceVersion getSupportedSourceVersion() {
@@ -35,6 +36,7 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
     Filer filer = processingEnv.getFiler();
 
     CompilerOptions compilerOptions = CompilerOptions.create(processingEnv, elements);
+    this.metrics = ProcessorMetrics.create(compilerOptions);
 
     MethodSignatureFormatter methodSignatureFormatter = new MethodSignatureFormatter(types);
     HasSourceElementFormatter hasSourceElementFormatter =
@@ -65,16 +67,17 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
     MultibindingsValidator multibindingsValidator =
         new MultibindingsValidator(elements, keyFactory, keyFormatter, methodSignatureFormatter);
 
-    this.factoryGenerator = new FactoryGenerator(filer, elements, compilerOptions);
-    this.membersInjectorGenerator = new MembersInjectorGenerator(filer, elements);
+    this.factoryGenerator = new FactoryGenerator(filer, elements, compilerOptions, metrics);
+    this.membersInjectorGenerator =
+        new MembersInjectorGenerator(filer, elements, compilerOptions, metrics);
     ComponentGenerator componentGenerator =
-        new ComponentGenerator(filer, elements, types, keyFactory, compilerOptions);
+        new ComponentGenerator(filer, elements, types, keyFactory, compilerOptions, metrics);
     ProducerFactoryGenerator producerFactoryGenerator =
-        new ProducerFactoryGenerator(filer, elements, compilerOptions);
+        new ProducerFactoryGenerator(filer, elements, compilerOptions, metrics);
     MonitoringModuleGenerator monitoringModuleGenerator =
-        new MonitoringModuleGenerator(filer, elements);
+        new MonitoringModuleGenerator(filer, elements, compilerOptions, metrics);
     ProductionExecutorModuleGenerator productionExecutorModuleGenerator =
-        new ProductionExecutorModuleGenerator(filer, elements);
+        new ProductionExecutorModuleGenerator(filer, elements, compilerOptions, metrics);
 
     DependencyRequest.Factory dependencyRequestFactory =
         new DependencyRequest.Factory(elements, keyFactory);
@@ -117,7 +120,8 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
             provisionBindingFactory,
             productionBindingFactory);
 
-    MapKeyGenerator mapKeyGenerator = new MapKeyGenerator(filer, elements);
+    MapKeyGenerator mapKeyGenerator =
+        new MapKeyGenerator(filer, elements, compilerOptions, metrics);
     ComponentHierarchyValidator componentHierarchyValidator = new ComponentHierarchyValidator();
     BindingGraphValidator bindingGraphValidator =
         new BindingGraphValidator(
@@ -131,7 +135,7 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
             keyFormatter,
             keyFactory);
 
-    return ImmutableList.of(
+    ImmutableList<ProcessingStep> steps = ImmutableList.of(
         new MapKeyProcessingStep(messager, types, mapKeyValidator, mapKeyGenerator),
         new InjectProcessingStep(injectBindingRegistry),
         new MonitoringModuleProcessingStep(messager, monitoringModuleGenerator),
@@ -153,7 +157,9 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
             bindingGraphValidator,
             componentDescriptorFactory,
             bindingGraphFactory,
-            componentGenerator),
+            componentGenerator,
+            compilerOptions,
+            metrics),
         new ProducerModuleProcessingStep(
             messager,
             moduleValidator,
@@ -170,7 +176,15 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
             bindingGraphValidator,
             componentDescriptorFactory,
             bindingGraphFactory,
-            componentGenerator));
+            componentGenerator,
+            compilerOptions,
+            metrics));
+
+    ImmutableList.Builder<ProcessingStep> timedSteps = ImmutableList.builder();
+    for (ProcessingStep step : steps) {
+      timedSteps.add(metrics.timed(step));
+    }
+    return timedSteps.build();
   }
 
   @Override
@@ -181,5 +195,6 @@ public final class ComponentProcessor extends BasicAnnotationProcessor {
     } catch (SourceFileGenerationException e) {
       e.printMessageTo(processingEnv.getMessager());
     }
+    metrics.writeReport(processingEnv.getMessager());
   }
 }
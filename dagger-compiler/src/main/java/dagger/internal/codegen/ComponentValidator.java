@@ -109,6 +109,12 @@ final class ComponentValidator {
           subject);
     }
 
+    for (Scope scope : Scope.scopesOf(subject)) {
+      if (scope.isReusable()) {
+        builder.addError(ErrorMessages.REUSABLE_ON_COMPONENT, subject);
+      }
+    }
+
     ImmutableList<DeclaredType> builders =
         enclosedBuilders(subject, componentKind.builderAnnotationType());
     if (builders.size() > 1) {
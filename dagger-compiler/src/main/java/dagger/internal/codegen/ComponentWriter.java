@@ -45,7 +45,9 @@ final class ComponentWriter extends AbstractComponentWriter {
         compilerOptions,
         name,
         graph,
-        new UniqueSubcomponentNamesGenerator(graph).generate());
+        new UniqueSubcomponentNamesGenerator(graph).generate(),
+        DirectInstanceBindings.forGraph(
+            graph, name.packageName(), compilerOptions.providerIndex()));
   }
 
   private static class UniqueSubcomponentNamesGenerator {
@@ -0,0 +1,85 @@
+package dagger.internal.codegen;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+final class DependencyCycles {
+  static <K> ImmutableMap<K, Integer> find(
+      Iterable<K> rootKeys, Function<K, ? extends Iterable<K>> dependencies) {
+    Map<K, Integer> indices = new HashMap<>();
+    Map<K, Integer> lowLinks = new HashMap<>();
+    Deque<K> componentStack = new ArrayDeque<>();
+    Set<K> onComponentStack = new HashSet<>();
+    Set<K> selfDependentKeys = new HashSet<>();
+    ImmutableMap.Builder<K, Integer> cycles = ImmutableMap.builder();
+
+    Deque<K> visitStack = new ArrayDeque<>();
+    Deque<Iterator<K>> dependencyIterators = new ArrayDeque<>();
+    for (K rootKey : rootKeys) {
+      if (indices.containsKey(rootKey)) {
+        continue;
+      }
+      K nextKey = rootKey;
+      do {
+        if (nextKey != null) {
+          indices.put(nextKey, indices.size());
+          lowLinks.put(nextKey, indices.get(nextKey));
+          componentStack.push(nextKey);
+          onComponentStack.add(nextKey);
+          visitStack.push(nextKey);
+          dependencyIterators.push(dependencies.apply(nextKey).iterator());
+          nextKey = null;
+        }
+
+        K key = visitStack.peek();
+        Iterator<K> keyDependencies = dependencyIterators.peek();
+        if (keyDependencies.hasNext()) {
+          K dependencyKey = keyDependencies.next();
+          if (dependencyKey.equals(key)) {
+            selfDependentKeys.add(key);
+          }
+          if (!indices.containsKey(dependencyKey)) {
+            nextKey = dependencyKey;
+          } else if (onComponentStack.contains(dependencyKey)) {
+            lowLinks.put(key, Math.min(lowLinks.get(key), indices.get(dependencyKey)));
+          }
+          continue;
+        }
+
+        visitStack.pop();
+        dependencyIterators.pop();
+        if (!visitStack.isEmpty()) {
+          K dependentKey = visitStack.peek();
+          lowLinks.put(dependentKey, Math.min(lowLinks.get(dependentKey), lowLinks.get(key)));
+        }
+        int index = indices.get(key);
+        if (lowLinks.get(key) == index) {
+          ImmutableList.Builder<K> stronglyConnectedKeys = ImmutableList.builder();
+          K member;
+          do {
+            member = componentStack.pop();
+            onComponentStack.remove(member);
+            stronglyConnectedKeys.add(member);
+          } while (!member.equals(key));
+          ImmutableList<K> component = stronglyConnectedKeys.build();
+          if (component.size() > 1 || selfDependentKeys.contains(key)) {
+            for (K componentKey : component) {
+              cycles.put(componentKey, index);
+            }
+          }
+        }
+      } while (!visitStack.isEmpty());
+    }
+    return cycles.build();
+  }
+
+  private DependencyCycles() {}
+}
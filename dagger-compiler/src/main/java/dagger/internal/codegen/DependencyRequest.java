@@ -8,7 +8,6 @@ import com.google.common.base.Optional;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.util.concurrent.ListenableFuture;
 import dagger.Lazy;
 import dagger.MembersInjector;
 import dagger.Provides;
@@ -35,6 +34,7 @@ import static com.google.auto.common.MoreTypes.isTypeOf;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
+import static dagger.internal.codegen.FrameworkTypes.isFutureType;
 import static javax.lang.model.type.TypeKind.DECLARED;
 import static javax.lang.model.util.ElementFilter.constructorsIn;
 
@@ -221,7 +221,7 @@ abstract class DependencyRequest {
       TypeMirror type = productionMethodType.getReturnType();
       Optional<AnnotationMirror> qualifier = InjectionAnnotations.getQualifier(productionMethod);
       DeclaredType container = getEnclosingType(productionMethod);
-      if (isTypeOf(ListenableFuture.class, type)) {
+      if (isFutureType(type)) {
         return new AutoValue_DependencyRequest(
             Kind.FUTURE,
             keyFactory.forQualifiedType(
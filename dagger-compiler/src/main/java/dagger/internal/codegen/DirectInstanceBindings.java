@@ -0,0 +1,182 @@
+package dagger.internal.codegen;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import dagger.internal.codegen.ComponentDescriptor.ComponentMethodDescriptor;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static dagger.internal.codegen.Accessibility.isElementAccessibleFrom;
+import static dagger.internal.codegen.Accessibility.isTypeAccessibleFrom;
+import static dagger.internal.codegen.DependencyRequest.Kind.INSTANCE;
+import static dagger.internal.codegen.SourceFiles.hasProxyMethod;
+import static javax.lang.model.element.Modifier.STATIC;
+
+final class DirectInstanceBindings {
+  private final ImmutableSet<BindingKey> directKeys;
+  private final ImmutableSet<BindingKey> frameworkKeys;
+
+  private DirectInstanceBindings(
+      ImmutableSet<BindingKey> directKeys, ImmutableSet<BindingKey> frameworkKeys) {
+    this.directKeys = directKeys;
+    this.frameworkKeys = frameworkKeys;
+  }
+
+  static DirectInstanceBindings forGraph(
+      BindingGraph rootGraph, String packageName, boolean providerIndex) {
+    return new Analysis(packageName, providerIndex).analyze(rootGraph);
+  }
+
+  static boolean canInvokeDirectly(ContributionBinding binding, String packageName) {
+    if (!binding.bindingType().equals(BindingType.PROVISION)
+        || !binding.contributionType().equals(ContributionType.UNIQUE)
+        || binding.unresolved().isPresent()
+        || !binding.bindingTypeElement().getTypeParameters().isEmpty()) {
+      return false;
+    }
+    switch (binding.bindingKind()) {
+      case INJECTION:
+      case PROVISION:
+        break;
+      default:
+        return false;
+    }
+    if (!isElementAccessibleFrom(binding.bindingElement(), packageName)
+        && !canInvokeProxyMethod(binding, packageName)) {
+      return false;
+    }
+    if (!isTypeAccessibleFrom(binding.key().type(), packageName)) {
+      return false;
+    }
+    for (DependencyRequest dependency : binding.dependencies()) {
+      if (!isTypeAccessibleFrom(dependency.key().type(), packageName)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean canInvokeProxyMethod(ContributionBinding binding, String packageName) {
+    return hasProxyMethod(binding)
+        && (binding.bindingElement().getModifiers().contains(STATIC)
+            || binding.bindingKind().equals(ContributionBinding.Kind.INJECTION)
+            || isElementAccessibleFrom(binding.bindingTypeElement(), packageName));
+  }
+
+  boolean isDirect(BindingKey bindingKey) {
+    return directKeys.contains(bindingKey);
+  }
+
+  boolean requiresFrameworkInstance(BindingKey bindingKey) {
+    return !directKeys.contains(bindingKey) || frameworkKeys.contains(bindingKey);
+  }
+
+  private static final class Analysis {
+    private final String packageName;
+    private final boolean providerIndex;
+    private final SetMultimap<BindingKey, Binding> ownedBindings = LinkedHashMultimap.create();
+    private final Map<BindingKey, Boolean> candidates = new HashMap<>();
+    private final Set<BindingKey> frameworkKeys = new HashSet<>();
+    private final Deque<BindingKey> worklist = new ArrayDeque<>();
+
+    Analysis(String packageName, boolean providerIndex) {
+      this.packageName = packageName;
+      this.providerIndex = providerIndex;
+    }
+
+    DirectInstanceBindings analyze(BindingGraph rootGraph) {
+      indexBindings(rootGraph);
+      requestFrameworkInstances(rootGraph);
+      while (!worklist.isEmpty()) {
+        BindingKey bindingKey = worklist.pop();
+        if (isCandidate(bindingKey)) {
+          for (Binding binding : ownedBindings.get(bindingKey)) {
+            requestFrameworkInstancesForDependencies(binding);
+          }
+        }
+      }
+
+      ImmutableSet.Builder<BindingKey> directKeys = ImmutableSet.builder();
+      for (BindingKey bindingKey : ownedBindings.keySet()) {
+        if (isCandidate(bindingKey)) {
+          directKeys.add(bindingKey);
+        }
+      }
+      return new DirectInstanceBindings(directKeys.build(), ImmutableSet.copyOf(frameworkKeys));
+    }
+
+    private void indexBindings(BindingGraph graph) {
+      for (ResolvedBindings resolvedBindings : graph.resolvedBindings().values()) {
+        BindingKey bindingKey = resolvedBindings.bindingKey();
+        ImmutableSet<? extends Binding> bindings = resolvedBindings.ownedBindings();
+        if (bindings.isEmpty()) {
+          continue;
+        }
+        ownedBindings.putAll(bindingKey, bindings);
+        boolean candidate =
+            bindingKey.kind().equals(BindingKey.Kind.CONTRIBUTION)
+                && bindings.size() == 1
+                && !resolvedBindings.contributionBinding().scope().isPresent()
+                && canInvokeDirectly(resolvedBindings.contributionBinding(), packageName);
+        Boolean previous = candidates.get(bindingKey);
+        candidates.put(bindingKey, (previous == null || previous) && candidate);
+      }
+      for (BindingGraph subgraph : graph.subgraphs().values()) {
+        indexBindings(subgraph);
+      }
+    }
+
+    private void requestFrameworkInstances(BindingGraph graph) {
+      for (ComponentMethodDescriptor componentMethod :
+          graph.componentDescriptor().componentMethods()) {
+        if (componentMethod.dependencyRequest().isPresent()
+            && !componentMethod.dependencyRequest().get().kind().equals(INSTANCE)) {
+          requestFrameworkInstance(componentMethod.dependencyRequest().get().bindingKey());
+        }
+      }
+      if (providerIndex) {
+        for (BindingKey bindingKey : ProviderIndexKeys.forGraph(graph, packageName)) {
+          requestFrameworkInstance(bindingKey);
+        }
+      }
+      for (ResolvedBindings resolvedBindings : graph.resolvedBindings().values()) {
+        for (Binding binding : resolvedBindings.ownedBindings()) {
+          if (isCandidate(resolvedBindings.bindingKey())) {
+            for (DependencyRequest dependency : binding.implicitDependencies()) {
+              if (!dependency.kind().equals(INSTANCE)) {
+                requestFrameworkInstance(dependency.bindingKey());
+              }
+            }
+          } else {
+            requestFrameworkInstancesForDependencies(binding);
+          }
+        }
+      }
+      for (BindingGraph subgraph : graph.subgraphs().values()) {
+        requestFrameworkInstances(subgraph);
+      }
+    }
+
+    private void requestFrameworkInstancesForDependencies(Binding binding) {
+      for (DependencyRequest dependency : binding.implicitDependencies()) {
+        requestFrameworkInstance(dependency.bindingKey());
+      }
+    }
+
+    private void requestFrameworkInstance(BindingKey bindingKey) {
+      if (frameworkKeys.add(bindingKey)) {
+        worklist.push(bindingKey);
+      }
+    }
+
+    private boolean isCandidate(BindingKey bindingKey) {
+      Boolean candidate = candidates.get(bindingKey);
+      return candidate != null && candidate;
+    }
+  }
+}
@@ -27,6 +27,9 @@ final class ErrorMessages {
 
   static final String MULTIPLE_SCOPES = "A single binding may not declare more than one @Scope.";
 
+  static final String REUSABLE_ON_COMPONENT =
+      "@Reusable cannot be applied to components or subcomponents.";
+
   static final String INJECT_ON_PRIVATE_CONSTRUCTOR =
       "Dagger does not support injection into private constructors";
   static final String INJECT_CONSTRUCTOR_ON_INNER_CLASS =
@@ -75,10 +78,12 @@ final class ErrorMessages {
 
   static final String PRODUCES_METHOD_RETURN_TYPE =
       "@Produces methods must either return a primitive, an array, a type variable, or a declared"
-          + " type, or a ListenableFuture of one of those types.";
+          + " type, or a ListenableFuture, CompletionStage or CompletableFuture of one of those"
+          + " types.";
 
   static final String PRODUCES_METHOD_RAW_FUTURE =
-      "@Produces methods cannot return a raw ListenableFuture.";
+      "@Produces methods cannot return a raw ListenableFuture, CompletionStage or"
+          + " CompletableFuture.";
 
   static final String BINDING_METHOD_SET_VALUES_RAW_SET =
       "@%s methods of type set values cannot return a raw Set";
@@ -87,7 +92,8 @@ final class ErrorMessages {
       "@Provides methods of type set values must return a Set";
 
   static final String PRODUCES_METHOD_SET_VALUES_RETURN_SET =
-      "@Produces methods of type set values must return a Set or ListenableFuture of Set";
+      "@Produces methods of type set values must return a Set or a ListenableFuture,"
+          + " CompletionStage or CompletableFuture of Set";
 
   static final String PRODUCES_METHOD_THROWS =
       "@Produces methods may only throw unchecked exceptions or exceptions subclassing Exception";
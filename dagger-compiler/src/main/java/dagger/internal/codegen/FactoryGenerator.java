@@ -1,6 +1,5 @@
 package dagger.internal.codegen;
 
-import com.google.auto.common.MoreTypes;
 import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -17,7 +16,6 @@ import com.squareup.javapoet.TypeVariableName;
 import dagger.internal.Factory;
 import dagger.internal.MembersInjectors;
 import dagger.internal.Preconditions;
-import java.util.Collections;
 import java.util.List;
 import javax.annotation.processing.Filer;
 import javax.inject.Inject;
@@ -32,7 +30,6 @@ import static com.squareup.javapoet.MethodSpec.constructorBuilder;
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static com.squareup.javapoet.TypeSpec.enumBuilder;
-import static dagger.Provides.Type.SET;
 import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_RAWTYPES;
 import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_UNCHECKED;
 import static dagger.internal.codegen.CodeBlocks.makeParametersCodeBlock;
@@ -44,7 +41,9 @@ import static dagger.internal.codegen.SourceFiles.bindingTypeElementTypeVariable
 import static dagger.internal.codegen.SourceFiles.frameworkTypeUsageStatement;
 import static dagger.internal.codegen.SourceFiles.generateBindingFieldsForDependencies;
 import static dagger.internal.codegen.SourceFiles.generatedClassNameForBinding;
+import static dagger.internal.codegen.SourceFiles.hasProxyMethod;
 import static dagger.internal.codegen.SourceFiles.parameterizedGeneratedTypeNameForBinding;
+import static dagger.internal.codegen.SourceFiles.proxyMethodName;
 import static dagger.internal.codegen.TypeNames.factoryOf;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
@@ -55,8 +54,9 @@ final class FactoryGenerator extends JavaPoetSourceFileGenerator<ProvisionBindin
 
   private final CompilerOptions compilerOptions;
 
-  FactoryGenerator(Filer filer, Elements elements, CompilerOptions compilerOptions) {
-    super(filer, elements);
+  FactoryGenerator(
+      Filer filer, Elements elements, CompilerOptions compilerOptions, ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
     this.compilerOptions = compilerOptions;
   }
 
@@ -74,10 +74,7 @@ final class FactoryGenerator extends JavaPoetSourceFileGenerator<ProvisionBindin
   Optional<TypeSpec.Builder> write(ClassName generatedTypeName, ProvisionBinding binding) {
     checkState(!binding.unresolved().isPresent());
 
-    TypeMirror keyType =
-        binding.contributionType().equals(ContributionType.MAP)
-            ? MapType.from(binding.key().type()).unwrappedValueType(Provider.class)
-            : binding.key().type();
+    TypeMirror keyType = providedType(binding);
     TypeName providedTypeName = TypeName.get(keyType);
     ParameterizedTypeName parameterizedFactoryName = factoryOf(providedTypeName);
     Optional<ParameterizedTypeName> factoryOfRawTypeName = Optional.absent();
@@ -178,8 +175,7 @@ final class FactoryGenerator extends JavaPoetSourceFileGenerator<ProvisionBindin
     for (DependencyRequest dependency : binding.dependencies()) {
       parameters.add(
           frameworkTypeUsageStatement(
-              CodeBlocks.format("$L", fields.get(dependency.bindingKey()).name()),
-              dependency.kind()));
+              CodeBlocks.format("$L", fields.get(dependency.bindingKey()).name()), dependency));
     }
     CodeBlock parametersCodeBlock = makeParametersCodeBlock(parameters);
 
@@ -189,7 +185,29 @@ final class FactoryGenerator extends JavaPoetSourceFileGenerator<ProvisionBindin
             .addAnnotation(Override.class)
             .addModifiers(PUBLIC);
 
-    if (binding.bindingKind().equals(PROVISION)) {
+    if (hasProxyMethod(binding)) {
+      MethodSpec proxyMethod = proxyMethod(binding, providedTypeName);
+      factoryBuilder.addMethod(proxyMethod);
+      List<CodeBlock> proxyArguments = Lists.newArrayList();
+      if (binding.bindingKind().equals(PROVISION)
+          && !binding.bindingElement().getModifiers().contains(STATIC)) {
+        proxyArguments.add(CodeBlocks.format("module"));
+      }
+      proxyArguments.addAll(parameters);
+      CodeBlock proxyInvocation =
+          CodeBlocks.format("$N($L)", proxyMethod, makeParametersCodeBlock(proxyArguments));
+      if (binding.membersInjectionRequest().isPresent()) {
+        getMethodBuilder.addStatement("return $T.injectMembers($L, $L)",
+            MembersInjectors.class,
+            fields.get(binding.membersInjectionRequest().get().bindingKey()).name(),
+            proxyInvocation);
+      } else {
+        if (binding.nullableType().isPresent()) {
+          getMethodBuilder.addAnnotation((ClassName) TypeName.get(binding.nullableType().get()));
+        }
+        getMethodBuilder.addStatement("return $L", proxyInvocation);
+      }
+    } else if (binding.bindingKind().equals(PROVISION)) {
       CodeBlock.Builder providesMethodInvocationBuilder = CodeBlock.builder();
       if (binding.bindingElement().getModifiers().contains(STATIC)) {
         providesMethodInvocationBuilder.add("$T", ClassName.get(binding.bindingTypeElement()));
@@ -198,26 +216,8 @@ final class FactoryGenerator extends JavaPoetSourceFileGenerator<ProvisionBindin
       }
       providesMethodInvocationBuilder.add(
           ".$L($L)", binding.bindingElement().getSimpleName(), parametersCodeBlock);
-      CodeBlock providesMethodInvocation = providesMethodInvocationBuilder.build();
-
-      if (binding.provisionType().equals(SET)) {
-        TypeName paramTypeName = TypeName.get(
-            MoreTypes.asDeclared(keyType).getTypeArguments().get(0));
-        getMethodBuilder.addStatement(
-            "return $T.<$T>singleton($L)",
-            Collections.class, paramTypeName, providesMethodInvocation);
-      } else if (binding.nullableType().isPresent()
-          || compilerOptions.nullableValidationKind().equals(Diagnostic.Kind.WARNING)) {
-        if (binding.nullableType().isPresent()) {
-          getMethodBuilder.addAnnotation((ClassName) TypeName.get(binding.nullableType().get()));
-        }
-        getMethodBuilder.addStatement("return $L", providesMethodInvocation);
-      } else {
-        getMethodBuilder.addStatement("return $T.checkNotNull($L, $S)",
-            Preconditions.class,
-            providesMethodInvocation,
-            CANNOT_RETURN_NULL_FROM_NON_NULLABLE_PROVIDES_METHOD);
-      }
+      addProvisionReturnStatement(
+          getMethodBuilder, binding, providesMethodInvocationBuilder.build());
     } else if (binding.membersInjectionRequest().isPresent()) {
       getMethodBuilder.addStatement("return $T.injectMembers($L, new $T($L))",
           MembersInjectors.class,
@@ -236,6 +236,74 @@ final class FactoryGenerator extends JavaPoetSourceFileGenerator<ProvisionBindin
     return Optional.of(factoryBuilder);
   }
 
+  private static TypeMirror providedType(ProvisionBinding binding) {
+    switch (binding.provisionType()) {
+      case MAP:
+        return MapType.from(binding.key().type()).unwrappedValueType(Provider.class);
+      case SET:
+        return SetType.from(binding.key().type()).elementType();
+      default:
+        return binding.key().type();
+    }
+  }
+
+  private MethodSpec proxyMethod(ProvisionBinding binding, TypeName providedTypeName) {
+    MethodSpec.Builder proxyMethod =
+        methodBuilder(proxyMethodName(binding))
+            .addModifiers(PUBLIC, STATIC)
+            .returns(providedTypeName);
+    UniqueNameSet parameterNames = new UniqueNameSet();
+    CodeBlock receiver;
+    if (binding.bindingKind().equals(PROVISION)
+        && !binding.bindingElement().getModifiers().contains(STATIC)) {
+      receiver = CodeBlocks.format("$N", parameterNames.getUniqueName("instance"));
+      proxyMethod.addParameter(
+          TypeName.get(binding.bindingTypeElement().asType()), receiver.toString());
+    } else {
+      receiver = CodeBlocks.format("$T", ClassName.get(binding.bindingTypeElement()));
+    }
+    List<CodeBlock> arguments = Lists.newArrayList();
+    for (DependencyRequest dependency : binding.dependencies()) {
+      String parameterName =
+          parameterNames.getUniqueName(dependency.requestElement().getSimpleName());
+      proxyMethod.addParameter(TypeName.get(dependency.requestElement().asType()), parameterName);
+      arguments.add(CodeBlocks.format("$N", parameterName));
+    }
+    CodeBlock argumentsCodeBlock = makeParametersCodeBlock(arguments);
+
+    if (binding.bindingKind().equals(PROVISION)) {
+      addProvisionReturnStatement(
+          proxyMethod,
+          binding,
+          CodeBlocks.format(
+              "$L.$L($L)",
+              receiver,
+              binding.bindingElement().getSimpleName(),
+              argumentsCodeBlock));
+    } else {
+      proxyMethod.addStatement("return new $T($L)", providedTypeName, argumentsCodeBlock);
+    }
+    return proxyMethod.build();
+  }
+
+  private void addProvisionReturnStatement(
+      MethodSpec.Builder methodBuilder,
+      ProvisionBinding binding,
+      CodeBlock providesMethodInvocation) {
+    if (binding.nullableType().isPresent()
+        || compilerOptions.nullableValidationKind().equals(Diagnostic.Kind.WARNING)) {
+      if (binding.nullableType().isPresent()) {
+        methodBuilder.addAnnotation((ClassName) TypeName.get(binding.nullableType().get()));
+      }
+      methodBuilder.addStatement("return $L", providesMethodInvocation);
+    } else {
+      methodBuilder.addStatement("return $T.checkNotNull($L, $S)",
+          Preconditions.class,
+          providesMethodInvocation,
+          CANNOT_RETURN_NULL_FROM_NON_NULLABLE_PROVIDES_METHOD);
+    }
+  }
+
   private void addConstructorParameterAndTypeField(
       TypeName typeName,
       String variableName,
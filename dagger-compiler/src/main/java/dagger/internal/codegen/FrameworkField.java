@@ -6,6 +6,8 @@ import com.google.common.base.CaseFormat;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import dagger.Provides;
+import javax.inject.Provider;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementVisitor;
 import javax.lang.model.element.ExecutableElement;
@@ -31,11 +33,25 @@ abstract class FrameworkField {
         name.endsWith(suffix) ? name : name + suffix);
   }
 
+  private static FrameworkField createForSetBindingContribution(Key key, String name) {
+    String suffix = Provider.class.getSimpleName();
+    ParameterizedTypeName frameworkType =
+        ParameterizedTypeName.get(
+            ClassName.get(Provider.class), TypeName.get(SetType.from(key.type()).elementType()));
+    return new AutoValue_FrameworkField(
+        frameworkType, name.endsWith(suffix) ? name : name + suffix);
+  }
+
   static FrameworkField createForResolvedBindings(ResolvedBindings resolvedBindings) {
     if (resolvedBindings.isMultibindingContribution()
         && resolvedBindings.contributionType().equals(ContributionType.MAP)) {
       return createForMapBindingContribution(
           resolvedBindings.key(), frameworkFieldName(resolvedBindings));
+    } else if (resolvedBindings.isMultibindingContribution()
+        && resolvedBindings.contributionBinding().provisionType().equals(Provides.Type.SET)
+        && resolvedBindings.frameworkClass().equals(Provider.class)) {
+      return createForSetBindingContribution(
+          resolvedBindings.key(), frameworkFieldName(resolvedBindings));
     } else {
       return createWithTypeFromKey(
           resolvedBindings.frameworkClass(),
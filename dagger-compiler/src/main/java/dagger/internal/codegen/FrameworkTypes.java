@@ -2,8 +2,11 @@ package dagger.internal.codegen;
 
 import com.google.auto.common.MoreTypes;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
 import dagger.producers.Produced;
 import dagger.producers.Producer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.lang.model.type.TypeMirror;
 
 final class FrameworkTypes {
@@ -11,11 +14,27 @@ final class FrameworkTypes {
   private static final ImmutableSet<Class<?>> PRODUCER_TYPES =
       ImmutableSet.of(Produced.class, Producer.class);
 
+  private static final ImmutableSet<Class<?>> COMPLETION_STAGE_TYPES =
+      ImmutableSet.of(CompletionStage.class, CompletableFuture.class);
+
   static boolean isProducerType(TypeMirror type) {
+    return isTypeOfAny(PRODUCER_TYPES, type);
+  }
+
+  static boolean isFutureType(TypeMirror type) {
+    return (MoreTypes.isType(type) && MoreTypes.isTypeOf(ListenableFuture.class, type))
+        || isCompletionStageType(type);
+  }
+
+  static boolean isCompletionStageType(TypeMirror type) {
+    return isTypeOfAny(COMPLETION_STAGE_TYPES, type);
+  }
+
+  private static boolean isTypeOfAny(ImmutableSet<Class<?>> classes, TypeMirror type) {
     if (!MoreTypes.isType(type)) {
       return false;
     }
-    for (Class<?> clazz : PRODUCER_TYPES) {
+    for (Class<?> clazz : classes) {
       if (MoreTypes.isTypeOf(clazz, type)) {
         return true;
       }
@@ -1,17 +1,15 @@
 package dagger.internal.codegen;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Stopwatch;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
-import com.google.common.io.CharSink;
-import com.google.common.io.CharSource;
 import com.google.googlejavaformat.java.Formatter;
 import com.google.googlejavaformat.java.FormatterException;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.TypeSpec;
-import java.io.IOException;
 import java.io.Writer;
 import javax.annotation.Generated;
 import javax.annotation.processing.Filer;
@@ -20,6 +18,8 @@ import javax.lang.model.util.Elements;
 import javax.tools.JavaFileObject;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static dagger.internal.codegen.ProcessorMetrics.Phase.CODE_GENERATION;
+import static dagger.internal.codegen.ProcessorMetrics.Phase.FORMATTING;
 
 abstract class JavaPoetSourceFileGenerator<T> {
   private static final String GENERATED_COMMENTS = "https://google.github.io/dagger";
@@ -32,40 +32,104 @@ abstract class JavaPoetSourceFileGenerator<T> {
 
   private final Filer filer;
   private final boolean generatedAnnotationAvailable;
+  private final boolean formatGeneratedSource;
+  private final ProcessorMetrics metrics;
 
-  JavaPoetSourceFileGenerator(Filer filer, Elements elements) {
+  JavaPoetSourceFileGenerator(
+      Filer filer,
+      Elements elements,
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
     this.filer = checkNotNull(filer);
+    this.formatGeneratedSource = compilerOptions.formatGeneratedSource();
+    this.metrics = checkNotNull(metrics);
     generatedAnnotationAvailable = elements.getTypeElement("javax.annotation.Generated") != null;
   }
 
   void generate(T input) throws SourceFileGenerationException {
+    Optional<PendingSourceFile> sourceFile = prepare(input);
+    if (sourceFile.isPresent()) {
+      sourceFile.get().write(sourceFile.get().format());
+    }
+  }
+
+  Optional<PendingSourceFile> prepare(T input) throws SourceFileGenerationException {
     ClassName generatedTypeName = nameGeneratedType(input);
+    Optional<? extends Element> elementForErrorReporting = getElementForErrorReporting(input);
+    Stopwatch stopwatch = Stopwatch.createStarted();
     try {
       Optional<TypeSpec.Builder> type = write(generatedTypeName, input);
       if (!type.isPresent()) {
-        return;
+        return Optional.absent();
       }
       JavaFile javaFile = buildJavaFile(generatedTypeName, type.get());
+      metrics.record(CODE_GENERATION, generatedTypeName, stopwatch);
+      return Optional.of(
+          new PendingSourceFile(
+              filer,
+              metrics,
+              formatGeneratedSource,
+              generatedTypeName,
+              javaFile,
+              elementForErrorReporting));
+    } catch (Exception e) {
+      Throwables.propagateIfPossible(e, SourceFileGenerationException.class);
+      throw new SourceFileGenerationException(
+          Optional.<ClassName>absent(), e, elementForErrorReporting);
+    }
+  }
+
+  static final class PendingSourceFile {
+    private final Filer filer;
+    private final ProcessorMetrics metrics;
+    private final boolean formatSource;
+    private final ClassName generatedTypeName;
+    private final JavaFile javaFile;
+    private final Optional<? extends Element> elementForErrorReporting;
+
+    PendingSourceFile(
+        Filer filer,
+        ProcessorMetrics metrics,
+        boolean formatSource,
+        ClassName generatedTypeName,
+        JavaFile javaFile,
+        Optional<? extends Element> elementForErrorReporting) {
+      this.filer = filer;
+      this.metrics = metrics;
+      this.formatSource = formatSource;
+      this.generatedTypeName = generatedTypeName;
+      this.javaFile = javaFile;
+      this.elementForErrorReporting = elementForErrorReporting;
+    }
 
-      final JavaFileObject sourceFile = filer.createSourceFile(
-          generatedTypeName.toString(),
-          Iterables.toArray(javaFile.typeSpec.originatingElements, Element.class));
+    String format() throws SourceFileGenerationException {
+      if (!formatSource) {
+        return javaFile.toString();
+      }
+      Stopwatch stopwatch = Stopwatch.createStarted();
       try {
-        new Formatter().formatSource(
-            CharSource.wrap(javaFile.toString()),
-            new CharSink() {
-              @Override public Writer openStream() throws IOException {
-                return sourceFile.openWriter();
-              }
-            });
+        return new Formatter().formatSource(javaFile.toString());
       } catch (FormatterException e) {
         throw new SourceFileGenerationException(
-            Optional.of(generatedTypeName), e, getElementForErrorReporting(input));
+            Optional.of(generatedTypeName), e, elementForErrorReporting);
+      } finally {
+        metrics.record(FORMATTING, generatedTypeName, stopwatch);
+      }
+    }
+
+    void write(String source) throws SourceFileGenerationException {
+      try {
+        JavaFileObject sourceFile = filer.createSourceFile(
+            generatedTypeName.toString(),
+            Iterables.toArray(javaFile.typeSpec.originatingElements, Element.class));
+        try (Writer writer = sourceFile.openWriter()) {
+          writer.write(source);
+        }
+        metrics.recordGeneratedFile();
+      } catch (Exception e) {
+        throw new SourceFileGenerationException(
+            Optional.<ClassName>absent(), e, elementForErrorReporting);
       }
-    } catch (Exception e) {
-      Throwables.propagateIfPossible(e, SourceFileGenerationException.class);
-      throw new SourceFileGenerationException(
-          Optional.<ClassName>absent(), e, getElementForErrorReporting(input));
     }
   }
 
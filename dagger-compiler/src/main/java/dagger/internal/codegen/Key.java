@@ -12,7 +12,6 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Multimaps;
-import com.google.common.util.concurrent.ListenableFuture;
 import dagger.Multibindings;
 import dagger.Provides;
 import dagger.producers.Produced;
@@ -42,6 +41,7 @@ import javax.lang.model.util.Types;
 import static com.google.auto.common.MoreTypes.asExecutable;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static dagger.internal.codegen.FrameworkTypes.isFutureType;
 import static dagger.internal.codegen.InjectionAnnotations.getQualifier;
 import static dagger.internal.codegen.MapKeys.getMapKey;
 import static dagger.internal.codegen.MapKeys.getUnwrappedMapKeyType;
@@ -198,7 +198,7 @@ abstract class Key {
       checkArgument(componentMethod.getKind().equals(METHOD));
       TypeMirror returnType = normalize(types, componentMethod.getReturnType());
       TypeMirror keyType = returnType;
-      if (MoreTypes.isTypeOf(ListenableFuture.class, returnType)) {
+      if (isFutureType(returnType)) {
         keyType = Iterables.getOnlyElement(MoreTypes.asDeclared(returnType).getTypeArguments());
       }
       return forMethod(componentMethod, keyType);
@@ -243,7 +243,7 @@ abstract class Key {
       checkArgument(producesAnnotation != null);
       TypeMirror returnType = normalize(types, methodType.getReturnType());
       TypeMirror unfuturedType = returnType;
-      if (MoreTypes.isTypeOf(ListenableFuture.class, returnType)) {
+      if (isFutureType(returnType)) {
         unfuturedType =
             Iterables.getOnlyElement(MoreTypes.asDeclared(returnType).getTypeArguments());
       }
@@ -55,8 +55,12 @@ final class MapKeyGenerator extends JavaPoetSourceFileGenerator<MapKeyCreatorSpe
     }
   }
 
-  MapKeyGenerator(Filer filer, Elements elements) {
-    super(filer, elements);
+  MapKeyGenerator(
+      Filer filer,
+      Elements elements,
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
   }
 
   @Override
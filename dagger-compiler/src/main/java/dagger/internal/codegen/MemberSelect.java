@@ -42,6 +42,26 @@ abstract class MemberSelect {
     }
   }
 
+  static MemberSelect localMethod(ClassName owningClass, String methodName) {
+    return new LocalMethod(owningClass, methodName);
+  }
+
+  private static final class LocalMethod extends MemberSelect {
+    final String methodName;
+
+    LocalMethod(ClassName owningClass, String methodName) {
+      super(owningClass, false);
+      this.methodName = checkNotNull(methodName);
+    }
+
+    @Override
+    CodeBlock getExpressionFor(ClassName usingClass) {
+      return owningClass().equals(usingClass)
+          ? CodeBlocks.format("$L()", methodName)
+          : CodeBlocks.format("$T.this.$L()", owningClass(), methodName);
+    }
+  }
+
   static MemberSelect staticMethod(ClassName owningClass, CodeBlock methodInvocationCodeBlock) {
     return new StaticMethod(owningClass, methodInvocationCodeBlock);
   }
@@ -6,6 +6,7 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -15,10 +16,12 @@ import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 import dagger.MembersInjector;
 import dagger.internal.codegen.MembersInjectionBinding.InjectionSite;
 import dagger.producers.Producer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map.Entry;
@@ -41,11 +44,13 @@ import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_RAWTYPES;
 import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_UNCHECKED;
+import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_UNCHECKED_RAWTYPES;
 import static dagger.internal.codegen.CodeBlocks.makeParametersCodeBlock;
 import static dagger.internal.codegen.SourceFiles.bindingTypeElementTypeVariableNames;
 import static dagger.internal.codegen.SourceFiles.frameworkTypeUsageStatement;
 import static dagger.internal.codegen.SourceFiles.membersInjectorNameForType;
 import static dagger.internal.codegen.SourceFiles.parameterizedGeneratedTypeNameForBinding;
+import static dagger.internal.codegen.TypeNames.BATCH_MEMBERS_INJECTOR;
 import static dagger.internal.codegen.TypeNames.membersInjectorOf;
 import static javax.lang.model.element.Modifier.FINAL;
 import static javax.lang.model.element.Modifier.PRIVATE;
@@ -54,8 +59,12 @@ import static javax.lang.model.element.Modifier.STATIC;
 
 final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<MembersInjectionBinding> {
 
-  MembersInjectorGenerator(Filer filer, Elements elements) {
-    super(filer, elements);
+  MembersInjectorGenerator(
+      Filer filer,
+      Elements elements,
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
   }
 
   @Override
@@ -83,20 +92,15 @@ final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<Members
 
     TypeName injectedTypeName = TypeName.get(binding.key().type());
     TypeName implementedType = membersInjectorOf(injectedTypeName);
-    injectorTypeBuilder.addSuperinterface(implementedType);
+    injectorTypeBuilder.addSuperinterface(
+        ParameterizedTypeName.get(BATCH_MEMBERS_INJECTOR, injectedTypeName));
 
-    MethodSpec.Builder injectMembersBuilder =
-        methodBuilder("injectMembers")
-            .returns(TypeName.VOID)
-            .addModifiers(PUBLIC)
-            .addAnnotation(Override.class)
-            .addParameter(injectedTypeName, "instance")
-            .addCode("if (instance == null) {")
-            .addStatement(
-                "throw new $T($S)",
-                NullPointerException.class,
-                "Cannot inject members into a null reference")
-            .addCode("}");
+    ImmutableList.Builder<CodeBlock> injectInstance = ImmutableList.builder();
+    injectInstance.add(
+        CodeBlocks.format(
+            "if (instance == null) {\n$>throw new $T($S);\n$<}\n",
+            NullPointerException.class,
+            "Cannot inject members into a null reference"));
 
     ImmutableMap<BindingKey, FrameworkField> fields =
         SourceFiles.generateBindingFieldsForDependencies(binding);
@@ -157,7 +161,7 @@ final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<Members
     ImmutableMap<BindingKey, FieldSpec> dependencyFields = dependencyFieldsBuilder.build();
     List<MethodSpec> injectMethodsForSubclasses = new ArrayList<>();
     for (InjectionSite injectionSite : binding.injectionSites()) {
-      injectMembersBuilder.addCode(
+      injectInstance.add(
           visibleToMembersInjector(binding, injectionSite.element())
               ? directInjectMemberCodeBlock(binding, dependencyFields, injectionSite)
               : delegateInjectMemberCodeBlock(dependencyFields, injectionSite));
@@ -174,11 +178,24 @@ final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<Members
       }
     }
 
+    CodeBlock injectInstanceCodeBlock = CodeBlocks.concat(injectInstance.build());
+    MethodSpec.Builder injectMembers = injectMembersMethod(injectedTypeName, "instance");
     if (usesRawFrameworkTypes) {
-      injectMembersBuilder.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED);
+      injectMembers.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED);
     }
-
-    injectorTypeBuilder.addMethod(injectMembersBuilder.build());
+    injectorTypeBuilder.addMethod(injectMembers.addCode(injectInstanceCodeBlock).build());
+    injectorTypeBuilder.addMethod(
+        injectMembersMethod(ArrayTypeName.of(injectedTypeName), "instances")
+            .addStatement("injectMembers($T.asList(instances))", Arrays.class)
+            .build());
+    injectorTypeBuilder.addMethod(
+        injectMembersInBatchMethod(
+            ParameterizedTypeName.get(
+                ClassName.get(Iterable.class), WildcardTypeName.subtypeOf(injectedTypeName)),
+            dependencyFields.values(),
+            injectedTypeName,
+            injectInstanceCodeBlock,
+            usesRawFrameworkTypes));
     for (MethodSpec methodSpec : injectMethodsForSubclasses) {
       injectorTypeBuilder.addMethod(methodSpec);
     }
@@ -186,6 +203,35 @@ final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<Members
     return Optional.of(injectorTypeBuilder);
   }
 
+  private static MethodSpec.Builder injectMembersMethod(
+      TypeName parameterType, String parameterName) {
+    return methodBuilder("injectMembers")
+        .returns(TypeName.VOID)
+        .addModifiers(PUBLIC)
+        .addAnnotation(Override.class)
+        .addParameter(parameterType, parameterName);
+  }
+
+  private static MethodSpec injectMembersInBatchMethod(
+      TypeName instancesType,
+      Iterable<FieldSpec> dependencyFields,
+      TypeName injectedTypeName,
+      CodeBlock injectInstance,
+      boolean usesRawFrameworkTypes) {
+    MethodSpec.Builder injectMembers = injectMembersMethod(instancesType, "instances");
+    if (usesRawFrameworkTypes) {
+      injectMembers.addAnnotation(SUPPRESS_WARNINGS_UNCHECKED_RAWTYPES);
+    }
+    for (FieldSpec field : dependencyFields) {
+      injectMembers.addStatement("$T $N = this.$N", field.type, field, field);
+    }
+    return injectMembers
+        .beginControlFlow("for ($T instance : instances)", injectedTypeName)
+        .addCode(injectInstance)
+        .endControlFlow()
+        .build();
+  }
+
   private static boolean visibleToMembersInjector(
       MembersInjectionBinding binding, Element element) {
     return getPackage(element).equals(getPackage(binding.bindingElement()))
@@ -229,7 +275,7 @@ final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<Members
           CodeBlocks.format("$L", dependencyFields.get(dependency.bindingKey()).name);
       parameters.add(
           passValue
-              ? frameworkTypeUsageStatement(fieldCodeBlock, dependency.kind())
+              ? frameworkTypeUsageStatement(fieldCodeBlock, dependency)
               : fieldCodeBlock);
     }
     return parameters.build();
@@ -275,7 +321,7 @@ final class MembersInjectorGenerator extends JavaPoetSourceFileGenerator<Members
               .build();
       methodBuilder.addParameter(parameter);
       providedParameters.add(
-          frameworkTypeUsageStatement(CodeBlocks.format("$N", parameter), dependency.kind()));
+          frameworkTypeUsageStatement(CodeBlocks.format("$N", parameter), dependency));
     }
     if (injectionElement.getKind().isField()) {
       methodBuilder.addStatement(
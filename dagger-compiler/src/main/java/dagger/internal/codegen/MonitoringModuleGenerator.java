@@ -27,8 +27,12 @@ import static javax.lang.model.element.Modifier.STATIC;
 
 final class MonitoringModuleGenerator extends JavaPoetSourceFileGenerator<TypeElement> {
 
-  MonitoringModuleGenerator(Filer filer, Elements elements) {
-    super(filer, elements);
+  MonitoringModuleGenerator(
+      Filer filer,
+      Elements elements,
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
   }
 
   @Override
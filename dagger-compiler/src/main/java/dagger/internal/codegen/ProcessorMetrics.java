@@ -0,0 +1,196 @@
+package dagger.internal.codegen;
+
+import com.google.auto.common.BasicAnnotationProcessor.ProcessingStep;
+import com.google.common.base.Ascii;
+import com.google.common.base.Optional;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.SetMultimap;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+
+final class ProcessorMetrics {
+  enum Phase {
+    PROCESSING_STEP,
+    COMPONENT_DESCRIPTOR,
+    BINDING_GRAPH,
+    GRAPH_VALIDATION,
+    CODE_GENERATION,
+    FORMATTING,
+  }
+
+  private static final ProcessorMetrics DISABLED = new ProcessorMetrics(Optional.<File>absent());
+
+  private final Optional<File> reportFile;
+  private final List<Timing> timings = new ArrayList<>();
+  private final List<ComponentSize> componentSizes = new ArrayList<>();
+  private int generatedFiles;
+
+  private ProcessorMetrics(Optional<File> reportFile) {
+    this.reportFile = reportFile;
+  }
+
+  static ProcessorMetrics create(CompilerOptions compilerOptions) {
+    return compilerOptions.metricsReport().isPresent()
+        ? new ProcessorMetrics(Optional.of(new File(compilerOptions.metricsReport().get())))
+        : DISABLED;
+  }
+
+  boolean enabled() {
+    return reportFile.isPresent();
+  }
+
+  void record(Phase phase, Object subject, Stopwatch stopwatch) {
+    if (enabled()) {
+      long nanos = stopwatch.elapsed(TimeUnit.NANOSECONDS);
+      synchronized (this) {
+        timings.add(new Timing(phase, subject.toString(), nanos));
+      }
+    }
+  }
+
+  void recordComponentSize(BindingGraph graph) {
+    if (enabled()) {
+      ComponentSize size =
+          new ComponentSize(
+              graph.componentDescriptor().componentDefinitionType().getQualifiedName().toString());
+      size.add(graph);
+      synchronized (this) {
+        componentSizes.add(size);
+      }
+    }
+  }
+
+  synchronized void recordGeneratedFile() {
+    generatedFiles++;
+  }
+
+  ProcessingStep timed(final ProcessingStep step) {
+    if (!enabled()) {
+      return step;
+    }
+    return new ProcessingStep() {
+      @Override
+      public Set<? extends Class<? extends Annotation>> annotations() {
+        return step.annotations();
+      }
+
+      @Override
+      public Set<Element> process(
+          SetMultimap<Class<? extends Annotation>, Element> elementsByAnnotation) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        try {
+          return step.process(elementsByAnnotation);
+        } finally {
+          record(Phase.PROCESSING_STEP, step.getClass().getSimpleName(), stopwatch);
+        }
+      }
+    };
+  }
+
+  synchronized void writeReport(Messager messager) {
+    if (!enabled()) {
+      return;
+    }
+    File file = reportFile.get();
+    try {
+      File parent = file.getAbsoluteFile().getParentFile();
+      if (parent != null) {
+        parent.mkdirs();
+      }
+      Files.write(
+          Ascii.toLowerCase(file.getName()).endsWith(".csv") ? csvReport() : jsonReport(),
+          file,
+          StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      messager.printMessage(
+          Diagnostic.Kind.WARNING,
+          String.format("Could not write Dagger metrics report to %s: %s", file, e.getMessage()));
+    }
+  }
+
+  private String jsonReport() {
+    StringBuilder json = new StringBuilder("{\n  \"timings\": [");
+    for (int i = 0; i < timings.size(); i++) {
+      Timing timing = timings.get(i);
+      json.append(i == 0 ? "\n" : ",\n")
+          .append("    {\"phase\": \"").append(timing.phase)
+          .append("\", \"subject\": ").append(jsonString(timing.subject))
+          .append(", \"nanos\": ").append(timing.nanos).append('}');
+    }
+    json.append("\n  ],\n  \"components\": [");
+    for (int i = 0; i < componentSizes.size(); i++) {
+      ComponentSize size = componentSizes.get(i);
+      json.append(i == 0 ? "\n" : ",\n")
+          .append("    {\"component\": ").append(jsonString(size.component))
+          .append(", \"keys\": ").append(size.keys)
+          .append(", \"bindings\": ").append(size.bindings).append('}');
+    }
+    return json.append("\n  ],\n  \"generatedFiles\": ").append(generatedFiles)
+        .append("\n}\n")
+        .toString();
+  }
+
+  private String csvReport() {
+    StringBuilder csv = new StringBuilder("metric,subject,value\n");
+    for (Timing timing : timings) {
+      csv.append(timing.phase).append("_NANOS,").append(timing.subject).append(',')
+          .append(timing.nanos).append('\n');
+    }
+    for (ComponentSize size : componentSizes) {
+      csv.append("KEYS,").append(size.component).append(',').append(size.keys).append('\n');
+      csv.append("BINDINGS,").append(size.component).append(',').append(size.bindings)
+          .append('\n');
+    }
+    return csv.append("GENERATED_FILES,,").append(generatedFiles).append('\n').toString();
+  }
+
+  private static String jsonString(String value) {
+    return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+
+  private static final class Timing {
+    final Phase phase;
+    final String subject;
+    final long nanos;
+
+    Timing(Phase phase, String subject, long nanos) {
+      this.phase = phase;
+      this.subject = subject;
+      this.nanos = nanos;
+    }
+  }
+
+  private static final class ComponentSize {
+    final String component;
+    int keys;
+    int bindings;
+
+    ComponentSize(String component) {
+      this.component = component;
+    }
+
+    void add(BindingGraph graph) {
+      for (ResolvedBindings resolvedBindings : graph.resolvedBindings().values()) {
+        ImmutableSet<? extends Binding> ownedBindings = resolvedBindings.ownedBindings();
+        if (!ownedBindings.isEmpty()) {
+          keys++;
+          bindings += ownedBindings.size();
+        }
+      }
+      for (BindingGraph subgraph : graph.subgraphs().values()) {
+        add(subgraph);
+      }
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package dagger.internal.codegen;
 
+import com.google.auto.common.MoreElements;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
@@ -11,6 +12,7 @@ import com.google.common.collect.Iterables;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import dagger.producers.Producer;
@@ -30,10 +32,13 @@ import static com.squareup.javapoet.TypeSpec.classBuilder;
 import static dagger.internal.codegen.AnnotationSpecs.SUPPRESS_WARNINGS_UNCHECKED;
 import static dagger.internal.codegen.CodeBlocks.makeParametersCodeBlock;
 import static dagger.internal.codegen.CodeBlocks.toCodeBlocks;
+import static dagger.internal.codegen.FrameworkTypes.isCompletionStageType;
 import static dagger.internal.codegen.SourceFiles.frameworkTypeUsageStatement;
 import static dagger.internal.codegen.SourceFiles.generatedClassNameForBinding;
 import static dagger.internal.codegen.TypeNames.ASYNC_FUNCTION;
+import static dagger.internal.codegen.TypeNames.COMPLETION_STAGES;
 import static dagger.internal.codegen.TypeNames.FUTURES;
+import static dagger.internal.codegen.TypeNames.FUTURE_COMBINERS;
 import static dagger.internal.codegen.TypeNames.IMMUTABLE_SET;
 import static dagger.internal.codegen.TypeNames.PRODUCERS;
 import static dagger.internal.codegen.TypeNames.PRODUCER_TOKEN;
@@ -51,8 +56,9 @@ import static javax.lang.model.element.Modifier.STATIC;
 final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<ProductionBinding> {
   private final CompilerOptions compilerOptions;
 
-  ProducerFactoryGenerator(Filer filer, Elements elements, CompilerOptions compilerOptions) {
-    super(filer, elements);
+  ProducerFactoryGenerator(
+      Filer filer, Elements elements, CompilerOptions compilerOptions, ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
     this.compilerOptions = compilerOptions;
   }
 
@@ -127,31 +133,45 @@ final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<Product
         CodeBlocks.format(
             Joiner.on('\n')
                 .join(
-                    "new $1T<$2T, $3T>() {",
-                    "  $4L",
-                    "  @Override public $5T apply($2T $6L) $7L {",
-                    "    $8L",
+                    "new $1T() {",
+                    "  $2L",
+                    "  @Override public $3T apply($4L) $5L {",
+                    "    $6L",
                     "  }",
                     "}"),
-            ASYNC_FUNCTION,
-            futureTransform.applyArgType(),
-            providedTypeName,
+            futureTransform.functionType(providedTypeName),
             futureTransform.hasUncheckedCast()
                 ? CodeBlocks.format("$L // safe by specification", SUPPRESS_WARNINGS_UNCHECKED)
                 : "",
             futureTypeName,
-            futureTransform.applyArgName(),
+            futureTransform.applyParameters(),
             getThrowsClause(binding.thrownTypes()),
             getInvocationCodeBlock(
                 generatedTypeName,
                 binding,
                 providedTypeName,
                 futureTransform.parameterCodeBlocks()));
-    computeMethodBuilder.addStatement(
-        "return $T.transformAsync($L, $L, executorProvider.get())",
-        FUTURES,
-        futureTransform.futureCodeBlock(),
-        transformCodeBlock);
+    if (futureTransform instanceof CombinedFutureTransform) {
+      computeMethodBuilder.addStatement(
+          "return $T.combineAsync($L, $L, executorProvider.get(), $L)",
+          FUTURE_COMBINERS,
+          futureTransform.futureCodeBlock(),
+          transformCodeBlock,
+          compilerOptions.producerDirectExecutionDepth());
+    } else if (compilerOptions.producerDirectExecutionDepth() > 0) {
+      computeMethodBuilder.addStatement(
+          "return $T.transformAsync($L, $L, executorProvider.get(), $L)",
+          PRODUCERS,
+          futureTransform.futureCodeBlock(),
+          transformCodeBlock,
+          compilerOptions.producerDirectExecutionDepth());
+    } else {
+      computeMethodBuilder.addStatement(
+          "return $T.transformAsync($L, $L, executorProvider.get())",
+          FUTURES,
+          futureTransform.futureCodeBlock(),
+          transformCodeBlock);
+    }
 
     factoryBuilder.addMethod(constructorBuilder.build());
     factoryBuilder.addMethod(computeMethodBuilder.build());
@@ -219,11 +239,11 @@ final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<Product
 
     abstract CodeBlock futureCodeBlock();
 
-    abstract TypeName applyArgType();
+    abstract ImmutableList<CodeBlock> parameterCodeBlocks();
 
-    abstract String applyArgName();
+    abstract TypeName functionType(TypeName providedTypeName);
 
-    abstract ImmutableList<CodeBlock> parameterCodeBlocks();
+    abstract CodeBlock applyParameters();
 
     boolean hasUncheckedCast() {
       return false;
@@ -238,13 +258,36 @@ final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<Product
       } else if (asyncDependencies.size() == 1) {
         return new SingleArgFutureTransform(
             fields, binding, Iterables.getOnlyElement(asyncDependencies));
+      } else if (asyncDependencies.size() <= CombinedFutureTransform.MAX_ARITY) {
+        return new CombinedFutureTransform(fields, binding, asyncDependencies);
       } else {
         return new MultiArgFutureTransform(fields, binding, asyncDependencies);
       }
     }
   }
 
-  static final class NoArgFutureTransform extends FutureTransform {
+  abstract static class SingleFutureTransform extends FutureTransform {
+    SingleFutureTransform(
+        ImmutableMap<BindingKey, FrameworkField> fields, ProductionBinding binding) {
+      super(fields, binding);
+    }
+
+    abstract TypeName applyArgType();
+
+    abstract String applyArgName();
+
+    @Override
+    TypeName functionType(TypeName providedTypeName) {
+      return ParameterizedTypeName.get(ASYNC_FUNCTION, applyArgType(), providedTypeName);
+    }
+
+    @Override
+    CodeBlock applyParameters() {
+      return CodeBlocks.format("$T $L", applyArgType(), applyArgName());
+    }
+  }
+
+  static final class NoArgFutureTransform extends SingleFutureTransform {
     NoArgFutureTransform(
         ImmutableMap<BindingKey, FrameworkField> fields, ProductionBinding binding) {
       super(fields, binding);
@@ -278,7 +321,7 @@ final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<Product
     }
   }
 
-  static final class SingleArgFutureTransform extends FutureTransform {
+  static final class SingleArgFutureTransform extends SingleFutureTransform {
     private final DependencyRequest asyncDependency;
 
     SingleArgFutureTransform(
@@ -321,7 +364,85 @@ final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<Product
     }
   }
 
-  static final class MultiArgFutureTransform extends FutureTransform {
+  static final class CombinedFutureTransform extends FutureTransform {
+    static final int MAX_ARITY = 8;
+
+    private final ImmutableList<DependencyRequest> asyncDependencies;
+    private final ImmutableList<String> applyArgNames;
+
+    CombinedFutureTransform(
+        ImmutableMap<BindingKey, FrameworkField> fields,
+        ProductionBinding binding,
+        ImmutableList<DependencyRequest> asyncDependencies) {
+      super(fields, binding);
+      this.asyncDependencies = asyncDependencies;
+      UniqueNameSet names = new UniqueNameSet();
+      names.getUniqueName("monitor");
+      names.getUniqueName("module");
+      for (FrameworkField field : fields.values()) {
+        names.getUniqueName(field.name());
+      }
+      for (DependencyRequest dependency : asyncDependencies) {
+        names.getUniqueName(dependencyFutureName(dependency));
+      }
+      ImmutableList.Builder<String> applyArgNames = ImmutableList.builder();
+      for (DependencyRequest dependency : asyncDependencies) {
+        applyArgNames.add(names.getUniqueName(dependency.requestElement().getSimpleName()));
+      }
+      this.applyArgNames = applyArgNames.build();
+    }
+
+    @Override
+    CodeBlock futureCodeBlock() {
+      ImmutableList.Builder<CodeBlock> futures = ImmutableList.builder();
+      for (DependencyRequest dependency : asyncDependencies) {
+        futures.add(CodeBlocks.format("$L", dependencyFutureName(dependency)));
+      }
+      return makeParametersCodeBlock(futures.build());
+    }
+
+    @Override
+    TypeName functionType(TypeName providedTypeName) {
+      TypeName[] typeArguments = new TypeName[asyncDependencies.size() + 1];
+      for (int i = 0; i < asyncDependencies.size(); i++) {
+        typeArguments[i] = asyncDependencyType(asyncDependencies.get(i));
+      }
+      typeArguments[asyncDependencies.size()] = providedTypeName;
+      return ParameterizedTypeName.get(
+          FUTURE_COMBINERS.nestedClass("AsyncFunction" + asyncDependencies.size()),
+          typeArguments);
+    }
+
+    @Override
+    CodeBlock applyParameters() {
+      ImmutableList.Builder<CodeBlock> parameters = ImmutableList.builder();
+      for (int i = 0; i < asyncDependencies.size(); i++) {
+        parameters.add(
+            CodeBlocks.format(
+                "$T $L", asyncDependencyType(asyncDependencies.get(i)), applyArgNames.get(i)));
+      }
+      return makeParametersCodeBlock(parameters.build());
+    }
+
+    @Override
+    ImmutableList<CodeBlock> parameterCodeBlocks() {
+      ImmutableList.Builder<CodeBlock> parameterCodeBlocks = ImmutableList.builder();
+      for (DependencyRequest dependency : binding.dependencies()) {
+        int asyncIndex = asyncDependencies.indexOf(dependency);
+        if (asyncIndex >= 0) {
+          parameterCodeBlocks.add(CodeBlocks.format("$L", applyArgNames.get(asyncIndex)));
+        } else {
+          parameterCodeBlocks.add(
+              frameworkTypeUsageStatement(
+                  CodeBlocks.format("$L", fields.get(dependency.bindingKey()).name()),
+                  dependency.kind()));
+        }
+      }
+      return parameterCodeBlocks.build();
+    }
+  }
+
+  static final class MultiArgFutureTransform extends SingleFutureTransform {
     private final ImmutableList<DependencyRequest> asyncDependencies;
 
     MultiArgFutureTransform(
@@ -427,6 +548,12 @@ final class ProducerFactoryGenerator extends JavaPoetSourceFileGenerator<Product
                 : CodeBlocks.format("$T.this.module", generatedTypeName),
             binding.bindingElement().getSimpleName(),
             makeParametersCodeBlock(parameterCodeBlocks));
+    if (binding.bindingKind().equals(ContributionBinding.Kind.FUTURE_PRODUCTION)
+        && isCompletionStageType(
+            MoreElements.asExecutable(binding.bindingElement()).getReturnType())) {
+      moduleCodeBlock =
+          CodeBlocks.format("$T.toListenableFuture($L)", COMPLETION_STAGES, moduleCodeBlock);
+    }
 
     ImmutableList.Builder<CodeBlock> codeBlocks = ImmutableList.builder();
     codeBlocks.add(CodeBlocks.format("monitor.methodStarting();"));
@@ -3,7 +3,6 @@ package dagger.internal.codegen;
 import com.google.auto.common.MoreTypes;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.util.concurrent.ListenableFuture;
 import dagger.producers.ProducerModule;
 import dagger.producers.Produces;
 import java.util.Set;
@@ -33,6 +32,7 @@ import static dagger.internal.codegen.ErrorMessages.PRODUCES_METHOD_RAW_FUTURE;
 import static dagger.internal.codegen.ErrorMessages.PRODUCES_METHOD_RETURN_TYPE;
 import static dagger.internal.codegen.ErrorMessages.PRODUCES_METHOD_SET_VALUES_RETURN_SET;
 import static dagger.internal.codegen.ErrorMessages.PRODUCES_METHOD_THROWS;
+import static dagger.internal.codegen.FrameworkTypes.isFutureType;
 import static dagger.internal.codegen.MapKeys.getMapKeys;
 import static javax.lang.model.element.Modifier.ABSTRACT;
 import static javax.lang.model.element.Modifier.PRIVATE;
@@ -126,8 +126,7 @@ final class ProducesMethodValidator {
         }
         break;
       case SET_VALUES:
-        if (returnTypeKind.equals(DECLARED)
-            && MoreTypes.isTypeOf(ListenableFuture.class, returnType)) {
+        if (returnTypeKind.equals(DECLARED) && isFutureType(returnType)) {
           DeclaredType declaredReturnType = MoreTypes.asDeclared(returnType);
           if (!declaredReturnType.getTypeArguments().isEmpty()) {
             validateSetType(builder, Iterables.getOnlyElement(
@@ -162,7 +161,7 @@ final class ProducesMethodValidator {
 
   private void validateSingleReturnType(ValidationReport.Builder<? extends Element> reportBuilder,
       TypeMirror type) {
-    if (type.getKind().equals(DECLARED) && MoreTypes.isTypeOf(ListenableFuture.class, type)) {
+    if (type.getKind().equals(DECLARED) && isFutureType(type)) {
       DeclaredType declaredType = MoreTypes.asDeclared(type);
       if (declaredType.getTypeArguments().isEmpty()) {
         reportBuilder.addError(PRODUCES_METHOD_RAW_FUTURE, reportBuilder.getSubject());
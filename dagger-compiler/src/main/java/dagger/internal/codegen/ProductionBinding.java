@@ -6,7 +6,6 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
-import com.google.common.util.concurrent.ListenableFuture;
 import dagger.Provides;
 import dagger.producers.Produces;
 import java.util.Set;
@@ -19,6 +18,7 @@ import javax.lang.model.util.Types;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static dagger.internal.codegen.FrameworkTypes.isFutureType;
 import static javax.lang.model.element.ElementKind.METHOD;
 
 @AutoValue
@@ -88,7 +88,7 @@ abstract class ProductionBinding extends ContributionBinding {
           dependencyRequestFactory.forProductionImplementationExecutor();
       DependencyRequest monitorRequest =
           dependencyRequestFactory.forProductionComponentMonitorProvider();
-      Kind kind = MoreTypes.isTypeOf(ListenableFuture.class, producesMethod.getReturnType())
+      Kind kind = isFutureType(producesMethod.getReturnType())
           ? Kind.FUTURE_PRODUCTION
           : Kind.IMMEDIATE;
       return new AutoValue_ProductionBinding(
@@ -148,7 +148,7 @@ abstract class ProductionBinding extends ContributionBinding {
       checkNotNull(componentMethod);
       checkArgument(componentMethod.getKind().equals(METHOD));
       checkArgument(componentMethod.getParameters().isEmpty());
-      checkArgument(MoreTypes.isTypeOf(ListenableFuture.class, componentMethod.getReturnType()));
+      checkArgument(isFutureType(componentMethod.getReturnType()));
       return new AutoValue_ProductionBinding(
           SourceElement.forElement(componentMethod),
           keyFactory.forProductionComponentMethod(componentMethod),
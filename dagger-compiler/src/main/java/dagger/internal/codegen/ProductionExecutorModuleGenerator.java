@@ -3,6 +3,7 @@ package dagger.internal.codegen;
 import com.google.common.base.Optional;
 import com.squareup.javapoet.AnnotationSpec;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.TypeSpec;
 import dagger.Module;
@@ -20,13 +21,20 @@ import javax.lang.model.util.Elements;
 
 import static com.squareup.javapoet.MethodSpec.methodBuilder;
 import static com.squareup.javapoet.TypeSpec.classBuilder;
+import static dagger.internal.codegen.TypeNames.CANCELLABLE_EXECUTOR;
 import static javax.lang.model.element.Modifier.STATIC;
 import static javax.lang.model.element.Modifier.FINAL;
 
 final class ProductionExecutorModuleGenerator extends JavaPoetSourceFileGenerator<TypeElement> {
+  private final CompilerOptions compilerOptions;
 
-  ProductionExecutorModuleGenerator(Filer filer, Elements elements) {
-    super(filer, elements);
+  ProductionExecutorModuleGenerator(
+      Filer filer,
+      Elements elements,
+      CompilerOptions compilerOptions,
+      ProcessorMetrics metrics) {
+    super(filer, elements, compilerOptions, metrics);
+    this.compilerOptions = compilerOptions;
   }
 
   @Override
@@ -41,24 +49,28 @@ final class ProductionExecutorModuleGenerator extends JavaPoetSourceFileGenerato
 
   @Override
   Optional<TypeSpec.Builder> write(ClassName generatedTypeName, TypeElement componentElement) {
+    MethodSpec.Builder executorMethod =
+        methodBuilder("executor")
+            .returns(Executor.class)
+            .addModifiers(STATIC)
+            .addAnnotation(Provides.class)
+            .addAnnotation(ProductionScope.class)
+            .addAnnotation(ProductionImplementation.class)
+            .addParameter(
+                ParameterSpec.builder(Executor.class, "executor")
+                    .addAnnotation(Production.class)
+                    .build());
+    if (compilerOptions.cancellableProductionExecutor()) {
+      executorMethod.addStatement("return $T.create(executor)", CANCELLABLE_EXECUTOR);
+    } else {
+      executorMethod.addStatement("return executor");
+    }
     return Optional.of(
         classBuilder(generatedTypeName.simpleName())
             .addAnnotation(
                 AnnotationSpec.builder(Module.class)
                     .build())
             .addModifiers(FINAL)
-            .addMethod(
-                methodBuilder("executor")
-                    .returns(Executor.class)
-                    .addModifiers(STATIC)
-                    .addAnnotation(Provides.class)
-                    .addAnnotation(ProductionScope.class)
-                    .addAnnotation(ProductionImplementation.class)
-                    .addParameter(
-                        ParameterSpec.builder(Executor.class, "executor")
-                            .addAnnotation(Production.class)
-                            .build())
-                    .addStatement("return executor")
-                    .build()));
+            .addMethod(executorMethod.build()));
   }
 }
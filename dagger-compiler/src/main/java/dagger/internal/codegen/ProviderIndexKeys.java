@@ -0,0 +1,36 @@
+package dagger.internal.codegen;
+
+import com.google.auto.common.MoreTypes;
+import com.google.common.collect.ImmutableList;
+import javax.lang.model.type.TypeMirror;
+
+import static dagger.internal.codegen.Accessibility.isTypeAccessibleFrom;
+import static javax.lang.model.type.TypeKind.DECLARED;
+
+final class ProviderIndexKeys {
+  static ImmutableList<BindingKey> forGraph(BindingGraph graph, String packageName) {
+    ImmutableList.Builder<BindingKey> keys = ImmutableList.builder();
+    for (ResolvedBindings resolvedBindings : graph.resolvedBindings().values()) {
+      if (isIndexed(resolvedBindings, packageName)) {
+        keys.add(resolvedBindings.bindingKey());
+      }
+    }
+    return keys.build();
+  }
+
+  private static boolean isIndexed(ResolvedBindings resolvedBindings, String packageName) {
+    BindingKey bindingKey = resolvedBindings.bindingKey();
+    if (!bindingKey.kind().equals(BindingKey.Kind.CONTRIBUTION)
+        || bindingKey.key().qualifier().isPresent()
+        || resolvedBindings.contributionBindings().size() != 1
+        || !resolvedBindings.contributionBinding().bindingType().equals(BindingType.PROVISION)) {
+      return false;
+    }
+    TypeMirror type = bindingKey.key().type();
+    return type.getKind().equals(DECLARED)
+        && MoreTypes.asTypeElement(type).getTypeParameters().isEmpty()
+        && isTypeAccessibleFrom(type, packageName);
+  }
+
+  private ProviderIndexKeys() {}
+}
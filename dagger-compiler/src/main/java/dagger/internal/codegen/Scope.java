@@ -8,6 +8,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import dagger.Reusable;
 import dagger.producers.ProductionScope;
 import javax.inject.Singleton;
 import javax.lang.model.element.AnnotationMirror;
@@ -56,6 +57,10 @@ final class Scope {
             elements.getTypeElement(Singleton.class.getCanonicalName())));
   }
 
+  boolean isReusable() {
+    return getQualifiedName().equals(Reusable.class.getCanonicalName());
+  }
+
   public String getReadableSource() {
     return stripCommonTypePrefixes("@" + getQualifiedName());
   }
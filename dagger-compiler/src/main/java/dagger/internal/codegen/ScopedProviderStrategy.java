@@ -0,0 +1,26 @@
+package dagger.internal.codegen;
+
+import com.squareup.javapoet.ClassName;
+
+import static dagger.internal.codegen.TypeNames.ATOMIC_SCOPED_PROVIDER;
+import static dagger.internal.codegen.TypeNames.PARKING_SCOPED_PROVIDER;
+import static dagger.internal.codegen.TypeNames.SCOPED_PROVIDER;
+
+enum ScopedProviderStrategy {
+  SYNCHRONIZED,
+  IDEMPOTENT,
+  PARKING;
+
+  ClassName providerClassName() {
+    switch (this) {
+      case SYNCHRONIZED:
+        return SCOPED_PROVIDER;
+      case IDEMPOTENT:
+        return ATOMIC_SCOPED_PROVIDER;
+      case PARKING:
+        return PARKING_SCOPED_PROVIDER;
+      default:
+        throw new AssertionError(this);
+    }
+  }
+}
@@ -15,16 +15,20 @@ import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeVariableName;
+import dagger.ThreadConfined;
 import java.util.Iterator;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.TypeParameterElement;
 import javax.lang.model.type.TypeMirror;
 
+import static com.google.auto.common.MoreElements.isAnnotationPresent;
 import static com.google.common.base.CaseFormat.UPPER_CAMEL;
 import static com.google.common.base.Preconditions.checkArgument;
 import static dagger.internal.codegen.FrameworkDependency.frameworkDependenciesForBinding;
 import static dagger.internal.codegen.TypeNames.DOUBLE_CHECK_LAZY;
+import static dagger.internal.codegen.TypeNames.SINGLE_THREAD_LAZY;
 
 class SourceFiles {
 
@@ -81,10 +85,33 @@ class SourceFiles {
 
   static CodeBlock frameworkTypeUsageStatement(
       CodeBlock frameworkTypeMemberSelect, DependencyRequest.Kind dependencyKind) {
+    return frameworkTypeUsageStatement(frameworkTypeMemberSelect, dependencyKind, false);
+  }
+
+  static CodeBlock frameworkTypeUsageStatement(
+      CodeBlock frameworkTypeMemberSelect, DependencyRequest dependency) {
+    return frameworkTypeUsageStatement(
+        frameworkTypeMemberSelect, dependency.kind(), isRequestedByThreadConfinedType(dependency));
+  }
+
+  private static boolean isRequestedByThreadConfinedType(DependencyRequest dependency) {
+    Element element = dependency.requestElement();
+    while (element != null && !element.getKind().isClass() && !element.getKind().isInterface()) {
+      element = element.getEnclosingElement();
+    }
+    return element != null && isAnnotationPresent(element, ThreadConfined.class);
+  }
+
+  private static CodeBlock frameworkTypeUsageStatement(
+      CodeBlock frameworkTypeMemberSelect,
+      DependencyRequest.Kind dependencyKind,
+      boolean threadConfinedLazy) {
     switch (dependencyKind) {
       case LAZY:
         return CodeBlocks.format(
-            "$T.create($L)", DOUBLE_CHECK_LAZY, frameworkTypeMemberSelect);
+            "$T.create($L)",
+            threadConfinedLazy ? SINGLE_THREAD_LAZY : DOUBLE_CHECK_LAZY,
+            frameworkTypeMemberSelect);
       case INSTANCE:
       case FUTURE:
         return CodeBlocks.format("$L.get()", frameworkTypeMemberSelect);
@@ -210,6 +237,23 @@ class SourceFiles {
     return className.topLevelClassName().peerClass(canonicalName(className) + suffix);
   }
 
+  static boolean hasProxyMethod(ContributionBinding binding) {
+    switch (binding.bindingKind()) {
+      case INJECTION:
+      case PROVISION:
+        return binding.bindingTypeElement().getTypeParameters().isEmpty();
+      default:
+        return false;
+    }
+  }
+
+  static String proxyMethodName(ContributionBinding binding) {
+    checkArgument(hasProxyMethod(binding), "%s has no proxy method", binding);
+    return binding.bindingKind().equals(ContributionBinding.Kind.INJECTION)
+        ? "newInstance"
+        : "proxy" + factoryPrefix(binding);
+  }
+
   private static String factoryPrefix(ContributionBinding binding) {
     switch (binding.bindingKind()) {
       case INJECTION:
@@ -49,7 +49,8 @@ final class SubcomponentWriter extends AbstractComponentWriter {
         parent.compilerOptions,
         subcomponentName(parent, subgraph),
         subgraph,
-        parent.subcomponentNames);
+        parent.subcomponentNames,
+        parent.directInstanceBindings);
     this.parent = parent;
     this.subcomponentFactoryMethod = subcomponentFactoryMethod;
   }
@@ -80,6 +81,12 @@ final class SubcomponentWriter extends AbstractComponentWriter {
     return memberSelect == null ? parent.getMemberSelect(key) : memberSelect;
   }
 
+  @Override
+  protected MemberSelect getDirectInstanceMethod(BindingKey key) {
+    MemberSelect methodSelect = super.getDirectInstanceMethod(key);
+    return methodSelect == null ? parent.getDirectInstanceMethod(key) : methodSelect;
+  }
+
   private ExecutableType resolvedSubcomponentFactoryMethod() {
     return MoreTypes.asExecutable(
         types.asMemberOf(
@@ -8,6 +8,8 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import dagger.MembersInjector;
+import dagger.internal.AtomicScopedProvider;
+import dagger.internal.BatchMembersInjector;
 import dagger.internal.DelegateFactory;
 import dagger.internal.DoubleCheckLazy;
 import dagger.internal.Factory;
@@ -15,11 +17,19 @@ import dagger.internal.InstanceFactory;
 import dagger.internal.MapFactory;
 import dagger.internal.MapProviderFactory;
 import dagger.internal.MembersInjectors;
+import dagger.internal.ParkingScopedProvider;
+import dagger.internal.ProviderIndex;
 import dagger.internal.ScopedProvider;
 import dagger.internal.SetFactory;
+import dagger.internal.SingleCheckProvider;
+import dagger.internal.SingleThreadLazy;
+import dagger.internal.StringKeys;
 import dagger.producers.Produced;
 import dagger.producers.Producer;
 import dagger.producers.internal.AbstractProducer;
+import dagger.producers.internal.CancellableExecutor;
+import dagger.producers.internal.CompletionStages;
+import dagger.producers.internal.FutureCombiners;
 import dagger.producers.internal.MapOfProducedProducer;
 import dagger.producers.internal.MapOfProducerProducer;
 import dagger.producers.internal.MapProducer;
@@ -37,10 +47,15 @@ final class TypeNames {
 
   static final ClassName ABSTRACT_PRODUCER = ClassName.get(AbstractProducer.class);
   static final ClassName ASYNC_FUNCTION = ClassName.get(AsyncFunction.class);
+  static final ClassName ATOMIC_SCOPED_PROVIDER = ClassName.get(AtomicScopedProvider.class);
+  static final ClassName BATCH_MEMBERS_INJECTOR = ClassName.get(BatchMembersInjector.class);
+  static final ClassName CANCELLABLE_EXECUTOR = ClassName.get(CancellableExecutor.class);
+  static final ClassName COMPLETION_STAGES = ClassName.get(CompletionStages.class);
   static final ClassName DOUBLE_CHECK_LAZY = ClassName.get(DoubleCheckLazy.class);
   static final ClassName DELEGATE_FACTORY = ClassName.get(DelegateFactory.class);
   static final ClassName EXECUTOR = ClassName.get(Executor.class);
   static final ClassName FACTORY = ClassName.get(Factory.class);
+  static final ClassName FUTURE_COMBINERS = ClassName.get(FutureCombiners.class);
   static final ClassName FUTURES = ClassName.get(Futures.class);
   static final ClassName ILLEGAL_STATE_EXCEPTION = ClassName.get(IllegalStateException.class);
   static final ClassName IMMUTABLE_SET = ClassName.get(ImmutableSet.class);
@@ -54,17 +69,22 @@ final class TypeNames {
   static final ClassName MAP_PROVIDER_FACTORY = ClassName.get(MapProviderFactory.class);
   static final ClassName MEMBERS_INJECTOR = ClassName.get(MembersInjector.class);
   static final ClassName MEMBERS_INJECTORS = ClassName.get(MembersInjectors.class);
+  static final ClassName PARKING_SCOPED_PROVIDER = ClassName.get(ParkingScopedProvider.class);
   static final ClassName PRODUCER_TOKEN = ClassName.get(ProducerToken.class);
   static final ClassName PRODUCED = ClassName.get(Produced.class);
   static final ClassName PRODUCER = ClassName.get(Producer.class);
   static final ClassName PRODUCERS = ClassName.get(Producers.class);
   static final ClassName PROVIDER = ClassName.get(Provider.class);
+  static final ClassName PROVIDER_INDEX = ClassName.get(ProviderIndex.class);
   static final ClassName SCOPED_PROVIDER = ClassName.get(ScopedProvider.class);
   static final ClassName SET = ClassName.get(Set.class);
   static final ClassName SET_FACTORY = ClassName.get(SetFactory.class);
   static final ClassName SET_OF_PRODUCED_PRODUCER = ClassName.get(SetOfProducedProducer.class);
   static final ClassName SET_PRODUCER = ClassName.get(SetProducer.class);
+  static final ClassName SINGLE_CHECK_PROVIDER = ClassName.get(SingleCheckProvider.class);
+  static final ClassName SINGLE_THREAD_LAZY = ClassName.get(SingleThreadLazy.class);
   static final ClassName STRING = ClassName.get(String.class);
+  static final ClassName STRING_KEYS = ClassName.get(StringKeys.class);
   static final ClassName UNSUPPORTED_OPERATION_EXCEPTION =
       ClassName.get(UnsupportedOperationException.class);
 
@@ -0,0 +1,87 @@
+package dagger.internal.codegen;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class DependencyCyclesTest {
+  private static final int DEEP_CHAIN_LENGTH = 20000;
+
+  @Test
+  public void deepChainWithoutCycle() {
+    ImmutableMap<Integer, Integer> cycles =
+        DependencyCycles.find(ImmutableList.of(0), chain(DEEP_CHAIN_LENGTH, false));
+    assertTrue(cycles.isEmpty());
+  }
+
+  @Test
+  public void deepChainThatClosesIntoACycle() {
+    ImmutableMap<Integer, Integer> cycles =
+        DependencyCycles.find(ImmutableList.of(0), chain(DEEP_CHAIN_LENGTH, true));
+    assertEquals(DEEP_CHAIN_LENGTH, cycles.size());
+    for (int key = 0; key < DEEP_CHAIN_LENGTH; key++) {
+      assertEquals(cycles.get(0), cycles.get(key));
+    }
+  }
+
+  @Test
+  public void selfDependency() {
+    ImmutableListMultimap<Integer, Integer> dependencies =
+        ImmutableListMultimap.of(1, 1, 1, 2);
+    ImmutableMap<Integer, Integer> cycles =
+        DependencyCycles.find(ImmutableList.of(1, 2), forMultimap(dependencies));
+    assertEquals(ImmutableList.of(1), cycles.keySet().asList());
+  }
+
+  @Test
+  public void separateCyclesHaveDifferentIds() {
+    ImmutableListMultimap<Integer, Integer> dependencies =
+        ImmutableListMultimap.<Integer, Integer>builder()
+            .put(1, 2)
+            .put(2, 1)
+            .put(2, 3)
+            .put(3, 4)
+            .put(4, 3)
+            .put(4, 5)
+            .build();
+    ImmutableMap<Integer, Integer> cycles =
+        DependencyCycles.find(ImmutableList.of(1), forMultimap(dependencies));
+    assertEquals(4, cycles.size());
+    assertFalse(cycles.containsKey(5));
+    assertEquals(cycles.get(1), cycles.get(2));
+    assertEquals(cycles.get(3), cycles.get(4));
+    assertFalse(cycles.get(1).equals(cycles.get(3)));
+  }
+
+  private static Function<Integer, ImmutableList<Integer>> chain(
+      final int length, final boolean closed) {
+    return new Function<Integer, ImmutableList<Integer>>() {
+      @Override
+      public ImmutableList<Integer> apply(Integer key) {
+        if (key < length - 1) {
+          return ImmutableList.of(key + 1);
+        }
+        return closed ? ImmutableList.of(0) : ImmutableList.<Integer>of();
+      }
+    };
+  }
+
+  private static Function<Integer, ImmutableList<Integer>> forMultimap(
+      final ImmutableListMultimap<Integer, Integer> dependencies) {
+    return new Function<Integer, ImmutableList<Integer>>() {
+      @Override
+      public ImmutableList<Integer> apply(Integer key) {
+        return dependencies.get(key);
+      }
+    };
+  }
+}
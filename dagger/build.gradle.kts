@@ -12,4 +12,6 @@ dependencies {
     implementation("javax.inject:javax.inject:1")
     implementation("com.google.guava:guava:19.0")
     implementation("com.google.code.findbugs:jsr305:2.0.1")
+
+    testImplementation("junit:junit:4.12")
 }
@@ -0,0 +1,14 @@
+package dagger;
+
+import dagger.internal.Beta;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import javax.inject.Scope;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+@Documented
+@Beta
+@Retention(RUNTIME)
+@Scope
+public @interface Reusable {}
@@ -0,0 +1,15 @@
+package dagger;
+
+import dagger.internal.Beta;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+@Documented
+@Beta
+@Retention(CLASS)
+@Target(TYPE)
+public @interface ThreadConfined {}
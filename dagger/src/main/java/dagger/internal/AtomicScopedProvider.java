@@ -0,0 +1,39 @@
+package dagger.internal;
+
+import dagger.Lazy;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import javax.inject.Provider;
+
+public final class AtomicScopedProvider<T> implements Provider<T>, Lazy<T> {
+  private static final Object UNINITIALIZED = new Object();
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<AtomicScopedProvider, Object> INSTANCE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AtomicScopedProvider.class, Object.class, "instance");
+
+  private final Factory<T> factory;
+  private volatile Object instance = UNINITIALIZED;
+
+  private AtomicScopedProvider(Factory<T> factory) {
+    assert factory != null;
+    this.factory = factory;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public T get() {
+    Object result = instance;
+    if (result == UNINITIALIZED) {
+      Object candidate = factory.get();
+      result = INSTANCE_UPDATER.compareAndSet(this, UNINITIALIZED, candidate) ? candidate : instance;
+    }
+    return (T) result;
+  }
+
+  public static <T> Provider<T> create(Factory<T> factory) {
+    if (factory == null) {
+      throw new NullPointerException();
+    }
+    return new AtomicScopedProvider<T>(factory);
+  }
+}
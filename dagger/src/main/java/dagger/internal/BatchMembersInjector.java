@@ -0,0 +1,9 @@
+package dagger.internal;
+
+import dagger.MembersInjector;
+
+public interface BatchMembersInjector<T> extends MembersInjector<T> {
+  void injectMembers(T[] instances);
+
+  void injectMembers(Iterable<? extends T> instances);
+}
@@ -1,12 +1,22 @@
 package dagger.internal;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 final class Collections {
 
   private static final int MAX_POWER_OF_TWO = 1 << (Integer.SIZE - 2);
 
+  private static final int MAX_LINEAR_SEARCH_SIZE = 8;
+
   private Collections() {
   }
 
@@ -18,6 +28,60 @@ final class Collections {
     return new LinkedHashMap<K, V>(calculateInitialCapacity(expectedSize));
   }
 
+  @SuppressWarnings("unchecked")
+  static <E> Set<E> immutableSetOf(Object[] elements) {
+    switch (elements.length) {
+      case 0:
+        return java.util.Collections.emptySet();
+      case 1:
+        return java.util.Collections.singleton((E) elements[0]);
+      default:
+        return elements.length <= MAX_LINEAR_SEARCH_SIZE
+            ? new SmallArraySet<E>(removeDuplicatesLinearly(elements))
+            : HashedArraySet.<E>create(elements);
+    }
+  }
+
+  static <K> ImmutableKeys<K> immutableKeysOf(Collection<K> keys) {
+    return new ObjectKeys<K>(keys.toArray());
+  }
+
+  private static Object[] removeDuplicatesLinearly(Object[] elements) {
+    int size = 0;
+    for (Object element : elements) {
+      if (indexOf(elements, size, element) < 0) {
+        elements[size++] = element;
+      }
+    }
+    return size == elements.length ? elements : Arrays.copyOf(elements, size);
+  }
+
+  private static int indexOf(Object[] elements, int size, Object element) {
+    for (int i = 0; i < size; i++) {
+      if (elements[i].equals(element)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int smear(int hashCode) {
+    return 0x1b873593 * Integer.rotateLeft(hashCode * 0xcc9e2d51, 15);
+  }
+
+  private static int[] hashTableOf(Object[] keys) {
+    int[] table = new int[Integer.highestOneBit(keys.length - 1) << 2];
+    int mask = table.length - 1;
+    for (int index = 0; index < keys.length; index++) {
+      int i = smear(keys[index].hashCode());
+      while (table[i & mask] != 0) {
+        i++;
+      }
+      table[i & mask] = index + 1;
+    }
+    return table;
+  }
+
   private static int calculateInitialCapacity(int expectedSize) {
     if (expectedSize < 3) {
       return expectedSize + 1;
@@ -27,4 +91,320 @@ final class Collections {
     }
     return Integer.MAX_VALUE;
   }
+
+  private abstract static class ArraySet<E> extends AbstractSet<E> {
+    final Object[] elements;
+
+    ArraySet(Object[] elements) {
+      this.elements = elements;
+    }
+
+    @Override
+    public int size() {
+      return elements.length;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      return new Iterator<E>() {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+          return index < elements.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E next() {
+          if (index >= elements.length) {
+            throw new NoSuchElementException();
+          }
+          return (E) elements[index++];
+        }
+
+        @Override
+        public void remove() {
+          throw new UnsupportedOperationException();
+        }
+      };
+    }
+
+    @Override
+    public Object[] toArray() {
+      return elements.clone();
+    }
+  }
+
+  private static final class SmallArraySet<E> extends ArraySet<E> {
+    SmallArraySet(Object[] elements) {
+      super(elements);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return o != null && indexOf(elements, elements.length, o) >= 0;
+    }
+  }
+
+  private static final class HashedArraySet<E> extends ArraySet<E> {
+    private final Object[] table;
+
+    private HashedArraySet(Object[] elements, Object[] table) {
+      super(elements);
+      this.table = table;
+    }
+
+    static <E> HashedArraySet<E> create(Object[] elements) {
+      Object[] table = new Object[Integer.highestOneBit(elements.length - 1) << 2];
+      int mask = table.length - 1;
+      int size = 0;
+      for (Object element : elements) {
+        for (int i = smear(element.hashCode()); ; i++) {
+          Object candidate = table[i & mask];
+          if (candidate == null) {
+            table[i & mask] = element;
+            elements[size++] = element;
+            break;
+          }
+          if (candidate.equals(element)) {
+            break;
+          }
+        }
+      }
+      return new HashedArraySet<E>(
+          size == elements.length ? elements : Arrays.copyOf(elements, size), table);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (o == null) {
+        return false;
+      }
+      int mask = table.length - 1;
+      for (int i = smear(o.hashCode()); ; i++) {
+        Object candidate = table[i & mask];
+        if (candidate == null) {
+          return false;
+        }
+        if (candidate.equals(o)) {
+          return true;
+        }
+      }
+    }
+  }
+
+  abstract static class ImmutableKeys<K> {
+    abstract int size();
+
+    abstract K get(int index);
+
+    abstract int indexOf(Object key);
+
+    final <V> Map<K, V> mapOf(Object[] values) {
+      if (values.length != size()) {
+        throw new IllegalArgumentException(
+            "expected " + size() + " values, found " + values.length);
+      }
+      return values.length == 0
+          ? java.util.Collections.<K, V>emptyMap()
+          : new ArrayMap<K, V>(this, values);
+    }
+  }
+
+  static <K> ImmutableKeys<K> keysOf(Map<K, ?> map) {
+    return map instanceof ArrayMap ? ((ArrayMap<K, ?>) map).keys : immutableKeysOf(map.keySet());
+  }
+
+  static ImmutableKeys<Integer> immutableIntKeysOf(int[] keys) {
+    return new IntKeys(keys);
+  }
+
+  static ImmutableKeys<Long> immutableLongKeysOf(long[] keys) {
+    return new LongKeys(keys);
+  }
+
+  private static final class ObjectKeys<K> extends ImmutableKeys<K> {
+    private final Object[] keys;
+    private final int[] table;
+
+    ObjectKeys(Object[] keys) {
+      this.keys = keys;
+      this.table = keys.length <= MAX_LINEAR_SEARCH_SIZE ? null : hashTableOf(keys);
+    }
+
+    @Override
+    int size() {
+      return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    K get(int index) {
+      return (K) keys[index];
+    }
+
+    @Override
+    int indexOf(Object key) {
+      if (key == null) {
+        return -1;
+      }
+      if (table == null) {
+        return Collections.indexOf(keys, keys.length, key);
+      }
+      int mask = table.length - 1;
+      for (int i = smear(key.hashCode()); ; i++) {
+        int index = table[i & mask] - 1;
+        if (index < 0 || keys[index].equals(key)) {
+          return index;
+        }
+      }
+    }
+  }
+
+  private static final class IntKeys extends ImmutableKeys<Integer> {
+    private final int[] keys;
+    private final int[] sortedKeys;
+    private final int[] sortedIndices;
+
+    IntKeys(int[] keys) {
+      this.keys = keys;
+      long[] sorted = new long[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        sorted[i] = ((long) keys[i] << 32) | i;
+      }
+      Arrays.sort(sorted);
+      this.sortedKeys = new int[keys.length];
+      this.sortedIndices = new int[keys.length];
+      for (int i = 0; i < sorted.length; i++) {
+        sortedKeys[i] = (int) (sorted[i] >> 32);
+        sortedIndices[i] = (int) sorted[i];
+        assert i == 0 || sortedKeys[i - 1] != sortedKeys[i]
+            : "Codegen error? Duplicate key " + sortedKeys[i];
+      }
+    }
+
+    @Override
+    int size() {
+      return keys.length;
+    }
+
+    @Override
+    Integer get(int index) {
+      return keys[index];
+    }
+
+    @Override
+    int indexOf(Object key) {
+      if (!(key instanceof Integer)) {
+        return -1;
+      }
+      int position = Arrays.binarySearch(sortedKeys, (Integer) key);
+      return position < 0 ? -1 : sortedIndices[position];
+    }
+  }
+
+  private static final class LongKeys extends ImmutableKeys<Long> {
+    private final long[] keys;
+    private final long[] sortedKeys;
+    private final int[] sortedIndices;
+
+    LongKeys(long[] keys) {
+      this.keys = keys;
+      this.sortedKeys = keys.clone();
+      Arrays.sort(sortedKeys);
+      this.sortedIndices = new int[keys.length];
+      for (int i = 0; i < keys.length; i++) {
+        sortedIndices[Arrays.binarySearch(sortedKeys, keys[i])] = i;
+      }
+      for (int i = 1; i < sortedKeys.length; i++) {
+        assert sortedKeys[i - 1] != sortedKeys[i] : "Codegen error? Duplicate key " + sortedKeys[i];
+      }
+    }
+
+    @Override
+    int size() {
+      return keys.length;
+    }
+
+    @Override
+    Long get(int index) {
+      return keys[index];
+    }
+
+    @Override
+    int indexOf(Object key) {
+      if (!(key instanceof Long)) {
+        return -1;
+      }
+      int position = Arrays.binarySearch(sortedKeys, (Long) key);
+      return position < 0 ? -1 : sortedIndices[position];
+    }
+  }
+
+  private static final class ArrayMap<K, V> extends AbstractMap<K, V> {
+    private final ImmutableKeys<K> keys;
+    private final Object[] values;
+
+    ArrayMap(ImmutableKeys<K> keys, Object[] values) {
+      this.keys = keys;
+      this.values = values;
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return keys.indexOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(Object key) {
+      int index = keys.indexOf(key);
+      return index < 0 ? null : (V) values[index];
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+      return new AbstractSet<Entry<K, V>>() {
+        @Override
+        public int size() {
+          return values.length;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new Iterator<Entry<K, V>>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+              return index < values.length;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public Entry<K, V> next() {
+              if (index >= values.length) {
+                throw new NoSuchElementException();
+              }
+              Entry<K, V> entry =
+                  new SimpleImmutableEntry<K, V>(keys.get(index), (V) values[index]);
+              index++;
+              return entry;
+            }
+
+            @Override
+            public void remove() {
+              throw new UnsupportedOperationException();
+            }
+          };
+        }
+      };
+    }
+  }
 }
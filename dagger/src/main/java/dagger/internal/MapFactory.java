@@ -1,30 +1,53 @@
 package dagger.internal;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import javax.inject.Provider;
 
-import static dagger.internal.Collections.newLinkedHashMapWithExpectedSize;
-import static java.util.Collections.unmodifiableMap;
+import static dagger.internal.Collections.keysOf;
 
 public final class MapFactory<K, V> implements Factory<Map<K, V>> {
-  private final Map<K, Provider<V>> contributingMap;
+  private final Collections.ImmutableKeys<K> keys;
+  private final List<Provider<V>> valueProviders;
+  private final boolean cached;
+  private volatile Map<K, V> cachedMap;
 
-  private MapFactory(Map<K, Provider<V>> map) {
-    this.contributingMap = unmodifiableMap(map);
+  private MapFactory(Map<K, Provider<V>> map, boolean cached) {
+    this.keys = keysOf(map);
+    this.valueProviders = new ArrayList<Provider<V>>(map.values());
+    this.cached = cached;
   }
 
   public static <K, V> MapFactory<K, V> create(Provider<Map<K, Provider<V>>> mapProviderFactory) {
     Map<K, Provider<V>> map = mapProviderFactory.get();
-    return new MapFactory<K, V>(map);
+    return new MapFactory<K, V>(map, false);
+  }
+
+  public static <K, V> MapFactory<K, V> createCached(
+      Provider<Map<K, Provider<V>>> mapProviderFactory) {
+    Map<K, Provider<V>> map = mapProviderFactory.get();
+    return new MapFactory<K, V>(map, true);
   }
 
   @Override
   public Map<K, V> get() {
-    Map<K, V> result = newLinkedHashMapWithExpectedSize(contributingMap.size());
-    for (Entry<K, Provider<V>> entry: contributingMap.entrySet()) {
-      result.put(entry.getKey(), entry.getValue().get());
+    if (!cached) {
+      return newMap();
+    }
+    Map<K, V> result = cachedMap;
+    if (result == null) {
+      result = newMap();
+      cachedMap = result;
+    }
+    return result;
+  }
+
+  private Map<K, V> newMap() {
+    Object[] values = new Object[valueProviders.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = valueProviders.get(i).get();
     }
-    return unmodifiableMap(result);
+    return keys.mapOf(values);
   }
 }
@@ -1,12 +1,15 @@
 package dagger.internal;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.inject.Provider;
 
+import static dagger.internal.Collections.immutableIntKeysOf;
+import static dagger.internal.Collections.immutableKeysOf;
+import static dagger.internal.Collections.immutableLongKeysOf;
 import static dagger.internal.Collections.newLinkedHashMapWithExpectedSize;
-import static java.util.Collections.unmodifiableMap;
 
 public final class MapProviderFactory<K, V> implements Factory<Map<K, Provider<V>>> {
   private static final MapProviderFactory<Object, Object> EMPTY =
@@ -18,13 +21,25 @@ public final class MapProviderFactory<K, V> implements Factory<Map<K, Provider<V
     return new Builder<K, V>(size);
   }
 
+  public static <V> IntKeyBuilder<V> intKeyBuilder(int size) {
+    return new IntKeyBuilder<V>(size);
+  }
+
+  public static <V> LongKeyBuilder<V> longKeyBuilder(int size) {
+    return new LongKeyBuilder<V>(size);
+  }
+
+  public static <V> StringKeyBuilder<V> stringKeyBuilder(StringKeys keys) {
+    return new StringKeyBuilder<V>(keys);
+  }
+
   @SuppressWarnings("unchecked")
   public static <K, V> MapProviderFactory<K, V> empty() {
     return (MapProviderFactory<K, V>) EMPTY;
   }
 
   private MapProviderFactory(Map<K, Provider<V>> contributingMap) {
-    this.contributingMap = unmodifiableMap(contributingMap);
+    this.contributingMap = contributingMap;
   }
 
   @Override
@@ -40,7 +55,8 @@ public final class MapProviderFactory<K, V> implements Factory<Map<K, Provider<V
     }
 
     public MapProviderFactory<K, V> build() {
-      return new MapProviderFactory<K, V>(this.mapBuilder);
+      return new MapProviderFactory<K, V>(
+          immutableKeysOf(mapBuilder.keySet()).<Provider<V>>mapOf(mapBuilder.values().toArray()));
     }
 
     public Builder<K, V> put(K key, Provider<V> providerOfValue) {
@@ -55,4 +71,86 @@ public final class MapProviderFactory<K, V> implements Factory<Map<K, Provider<V
       return this;
     }
   }
+
+  public static final class IntKeyBuilder<V> {
+    private final int[] keys;
+    private final Object[] providers;
+    private int size;
+
+    private IntKeyBuilder(int size) {
+      this.keys = new int[size];
+      this.providers = new Object[size];
+    }
+
+    public MapProviderFactory<Integer, V> build() {
+      return new MapProviderFactory<Integer, V>(
+          immutableIntKeysOf(Arrays.copyOf(keys, size))
+              .<Provider<V>>mapOf(Arrays.copyOf(providers, size)));
+    }
+
+    public IntKeyBuilder<V> put(int key, Provider<V> providerOfValue) {
+      if (providerOfValue == null) {
+        throw new NullPointerException("The provider of the value is null");
+      }
+      keys[size] = key;
+      providers[size] = providerOfValue;
+      size++;
+      return this;
+    }
+  }
+
+  public static final class LongKeyBuilder<V> {
+    private final long[] keys;
+    private final Object[] providers;
+    private int size;
+
+    private LongKeyBuilder(int size) {
+      this.keys = new long[size];
+      this.providers = new Object[size];
+    }
+
+    public MapProviderFactory<Long, V> build() {
+      return new MapProviderFactory<Long, V>(
+          immutableLongKeysOf(Arrays.copyOf(keys, size))
+              .<Provider<V>>mapOf(Arrays.copyOf(providers, size)));
+    }
+
+    public LongKeyBuilder<V> put(long key, Provider<V> providerOfValue) {
+      if (providerOfValue == null) {
+        throw new NullPointerException("The provider of the value is null");
+      }
+      keys[size] = key;
+      providers[size] = providerOfValue;
+      size++;
+      return this;
+    }
+  }
+
+  public static final class StringKeyBuilder<V> {
+    private final StringKeys keys;
+    private final Object[] providers;
+
+    private StringKeyBuilder(StringKeys keys) {
+      this.keys = keys;
+      this.providers = new Object[keys.size()];
+    }
+
+    public MapProviderFactory<String, V> build() {
+      assert !Arrays.asList(providers).contains(null)
+          : "Codegen error? Missing provider for a key";
+      return new MapProviderFactory<String, V>(keys.<Provider<V>>mapOf(providers));
+    }
+
+    public StringKeyBuilder<V> put(String key, Provider<V> providerOfValue) {
+      if (providerOfValue == null) {
+        throw new NullPointerException("The provider of the value is null");
+      }
+      int index = keys.indexOf(key);
+      if (index < 0) {
+        throw new IllegalArgumentException("Unexpected key: " + key);
+      }
+      providers[index] = providerOfValue;
+      return this;
+    }
+  }
 }
@@ -12,6 +12,29 @@ public final class MembersInjectors {
     return instance;
   }
 
+  @SuppressWarnings("unchecked")
+  public static <T> void injectAll(MembersInjector<T> membersInjector, T[] instances) {
+    if (membersInjector instanceof BatchMembersInjector) {
+      ((BatchMembersInjector<T>) membersInjector).injectMembers(instances);
+    } else {
+      for (T instance : instances) {
+        membersInjector.injectMembers(instance);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> void injectAll(
+      MembersInjector<T> membersInjector, Iterable<? extends T> instances) {
+    if (membersInjector instanceof BatchMembersInjector) {
+      ((BatchMembersInjector<T>) membersInjector).injectMembers(instances);
+    } else {
+      for (T instance : instances) {
+        membersInjector.injectMembers(instance);
+      }
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public static <T> MembersInjector<T> noOp() {
     return (MembersInjector<T>) NoOpMembersInjector.INSTANCE;
@@ -0,0 +1,132 @@
+package dagger.internal;
+
+import dagger.Lazy;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import javax.inject.Provider;
+
+public final class ParkingScopedProvider<T> implements Provider<T>, Lazy<T> {
+  private static final Object UNINITIALIZED = new Object();
+  private static final Waiter RELEASED = new Waiter(null);
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<ParkingScopedProvider, Object> INSTANCE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(ParkingScopedProvider.class, Object.class, "instance");
+
+  private static final AtomicReferenceFieldUpdater<Construction, Waiter> WAITERS_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(Construction.class, Waiter.class, "waiters");
+
+  private final Factory<T> factory;
+  private volatile Object instance = UNINITIALIZED;
+
+  private ParkingScopedProvider(Factory<T> factory) {
+    assert factory != null;
+    this.factory = factory;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public T get() {
+    Object result = instance;
+    if (result == UNINITIALIZED || result instanceof Construction) {
+      result = getSlowPath();
+    }
+    return (T) result;
+  }
+
+  private Object getSlowPath() {
+    Thread currentThread = Thread.currentThread();
+    while (true) {
+      Object result = instance;
+      if (result == UNINITIALIZED) {
+        Construction construction = new Construction(currentThread);
+        if (INSTANCE_UPDATER.compareAndSet(this, UNINITIALIZED, construction)) {
+          return construct(construction);
+        }
+      } else if (result instanceof Construction) {
+        Construction construction = (Construction) result;
+        if (construction.owner == currentThread) {
+          return factory.get();
+        }
+        awaitConstruction(construction);
+      } else {
+        return result;
+      }
+    }
+  }
+
+  private Object construct(Construction construction) {
+    boolean constructed = false;
+    try {
+      Object result = factory.get();
+      instance = result;
+      constructed = true;
+      return result;
+    } finally {
+      if (!constructed) {
+        instance = UNINITIALIZED;
+      }
+      construction.releaseWaiters();
+    }
+  }
+
+  private void awaitConstruction(Construction construction) {
+    if (!construction.addWaiter(new Waiter(Thread.currentThread()))) {
+      return;
+    }
+    boolean interrupted = false;
+    while (instance == construction) {
+      LockSupport.park(this);
+      interrupted |= Thread.interrupted();
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public static <T> Provider<T> create(Factory<T> factory) {
+    if (factory == null) {
+      throw new NullPointerException();
+    }
+    return new ParkingScopedProvider<T>(factory);
+  }
+
+  private static final class Construction {
+    final Thread owner;
+    volatile Waiter waiters;
+
+    Construction(Thread owner) {
+      this.owner = owner;
+    }
+
+    boolean addWaiter(Waiter waiter) {
+      while (true) {
+        Waiter head = waiters;
+        if (head == RELEASED) {
+          return false;
+        }
+        waiter.next = head;
+        if (WAITERS_UPDATER.compareAndSet(this, head, waiter)) {
+          return true;
+        }
+      }
+    }
+
+    void releaseWaiters() {
+      for (Waiter waiter = WAITERS_UPDATER.getAndSet(this, RELEASED);
+          waiter != null;
+          waiter = waiter.next) {
+        LockSupport.unpark(waiter.thread);
+      }
+    }
+  }
+
+  private static final class Waiter {
+    final Thread thread;
+    Waiter next;
+
+    Waiter(Thread thread) {
+      this.thread = thread;
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package dagger.internal;
+
+import javax.inject.Provider;
+
+public interface ProviderIndex {
+  <T> Provider<T> getProvider(Class<T> type);
+}
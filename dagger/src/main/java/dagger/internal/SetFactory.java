@@ -1,15 +1,14 @@
 package dagger.internal;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import javax.inject.Provider;
 
-import static dagger.internal.Collections.newLinkedHashSetWithExpectedSize;
+import static dagger.internal.Collections.immutableSetOf;
 import static java.util.Collections.emptySet;
-import static java.util.Collections.unmodifiableSet;
 
 public final class SetFactory<T> implements Factory<Set<T>> {
 
@@ -45,7 +44,65 @@ public final class SetFactory<T> implements Factory<Set<T>> {
     assert !hasDuplicates(contributingProviders)
         : "Codegen error?  Duplicates in the provider list";
 
-    return new SetFactory<T>(contributingProviders);
+    boolean[] collectionProviders = new boolean[providers.length];
+    Arrays.fill(collectionProviders, true);
+    return new SetFactory<T>(providers.clone(), collectionProviders, false);
+  }
+
+  public static <T> Factory<Set<T>> singleton(final Provider<? extends T> provider) {
+    assert provider != null : "Codegen error? Null provider";
+    return new Factory<Set<T>>() {
+      @Override
+      public Set<T> get() {
+        return java.util.Collections.<T>singleton(checkElementNotNull(provider.get()));
+      }
+    };
+  }
+
+  public static <T> Builder<T> builder(int individualProviderSize, int collectionProviderSize) {
+    return new Builder<T>(individualProviderSize, collectionProviderSize);
+  }
+
+  public static final class Builder<T> {
+    private final Provider<?>[] providers;
+    private final boolean[] collectionProviders;
+    private int size;
+
+    private Builder(int individualProviderSize, int collectionProviderSize) {
+      int capacity = individualProviderSize + collectionProviderSize;
+      providers = new Provider<?>[capacity];
+      collectionProviders = new boolean[capacity];
+    }
+
+    public Builder<T> addProvider(Provider<? extends T> individualProvider) {
+      assert individualProvider != null : "Codegen error? Null provider";
+      providers[size++] = individualProvider;
+      return this;
+    }
+
+    public Builder<T> addCollectionProvider(
+        Provider<? extends Collection<? extends T>> collectionProvider) {
+      assert collectionProvider != null : "Codegen error? Null provider";
+      collectionProviders[size] = true;
+      providers[size++] = collectionProvider;
+      return this;
+    }
+
+    public SetFactory<T> build() {
+      return build(false);
+    }
+
+    public SetFactory<T> buildCached() {
+      return build(true);
+    }
+
+    private SetFactory<T> build(boolean cached) {
+      assert size == providers.length
+          : "Codegen error? Expected " + providers.length + " providers, found " + size;
+      assert !hasDuplicates(Arrays.asList(providers))
+          : "Codegen error?  Duplicates in the provider list";
+      return new SetFactory<T>(providers.clone(), collectionProviders.clone(), cached);
+    }
   }
 
   private static boolean hasDuplicates(List<? extends Object> original) {
@@ -53,36 +110,84 @@ public final class SetFactory<T> implements Factory<Set<T>> {
     return original.size() != asSet.size();
   }
 
-  private final List<Provider<Set<T>>> contributingProviders;
-
-  private SetFactory(List<Provider<Set<T>>> contributingProviders) {
-    this.contributingProviders = contributingProviders;
+  private final Provider<?>[] providers;
+  private final boolean[] collectionProviders;
+  private final boolean hasCollectionProviders;
+  private final boolean cached;
+  private volatile Set<T> cachedSet;
+
+  private SetFactory(Provider<?>[] providers, boolean[] collectionProviders, boolean cached) {
+    this.providers = providers;
+    this.collectionProviders = collectionProviders;
+    this.hasCollectionProviders = contains(collectionProviders, true);
+    this.cached = cached;
   }
 
   @Override
   public Set<T> get() {
-    int size = 0;
+    if (!cached) {
+      return newSet();
+    }
+    Set<T> result = cachedSet;
+    if (result == null) {
+      result = newSet();
+      cachedSet = result;
+    }
+    return result;
+  }
+
+  private Set<T> newSet() {
+    if (!hasCollectionProviders) {
+      Object[] elements = new Object[providers.length];
+      for (int i = 0; i < providers.length; i++) {
+        elements[i] = checkElementNotNull(providers[i].get());
+      }
+      return immutableSetOf(elements);
+    }
 
-    List<Set<T>> providedSets = new ArrayList<Set<T>>(contributingProviders.size());
-    for (int i = 0, c = contributingProviders.size(); i < c; i++) {
-      Provider<Set<T>> provider = contributingProviders.get(i);
-      Set<T> providedSet = provider.get();
-      if (providedSet == null) {
-        throw new NullPointerException(provider + " returned null");
+    Object[] provided = new Object[providers.length];
+    int size = 0;
+    for (int i = 0; i < providers.length; i++) {
+      Object value = providers[i].get();
+      if (collectionProviders[i]) {
+        if (value == null) {
+          throw new NullPointerException(providers[i] + " returned null");
+        }
+        size += ((Collection<?>) value).size();
+      } else {
+        checkElementNotNull(value);
+        size++;
       }
-      providedSets.add(providedSet);
-      size += providedSet.size();
+      provided[i] = value;
     }
 
-    Set<T> result = newLinkedHashSetWithExpectedSize(size);
-    for (int i = 0, c = providedSets.size(); i < c; i++) {
-      for (T element : providedSets.get(i)) {
-        if (element == null) {
-          throw new NullPointerException("a null element was provided");
+    Object[] elements = new Object[size];
+    int index = 0;
+    for (int i = 0; i < provided.length; i++) {
+      if (collectionProviders[i]) {
+        for (Object element : (Collection<?>) provided[i]) {
+          elements[index++] = checkElementNotNull(element);
         }
-        result.add(element);
+      } else {
+        elements[index++] = provided[i];
       }
     }
-    return unmodifiableSet(result);
+    return immutableSetOf(elements);
+  }
+
+  private static boolean contains(boolean[] array, boolean value) {
+    for (boolean element : array) {
+      if (element == value) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static <T> T checkElementNotNull(T element) {
+    if (element == null) {
+      throw new NullPointerException("a null element was provided");
+    }
+    return element;
   }
 }
@@ -0,0 +1,38 @@
+package dagger.internal;
+
+import dagger.Lazy;
+import javax.inject.Provider;
+
+public final class SingleThreadLazy<T> implements Lazy<T> {
+  private static final Object UNINITIALIZED = new Object();
+
+  private final Provider<T> provider;
+  private Object instance = UNINITIALIZED;
+
+  private SingleThreadLazy(Provider<T> provider) {
+    assert provider != null;
+    this.provider = provider;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public T get() {
+    Object result = instance;
+    if (result == UNINITIALIZED) {
+      instance = result = provider.get();
+    }
+    return (T) result;
+  }
+
+  public static <T> Lazy<T> create(Provider<T> provider) {
+    if (provider == null) {
+      throw new NullPointerException();
+    }
+    if (provider instanceof Lazy) {
+      @SuppressWarnings("unchecked")
+      final Lazy<T> lazy = (Lazy<T>) provider;
+      return lazy;
+    }
+    return new SingleThreadLazy<T>(provider);
+  }
+}
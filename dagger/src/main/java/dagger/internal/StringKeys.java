@@ -0,0 +1,26 @@
+package dagger.internal;
+
+public abstract class StringKeys extends Collections.ImmutableKeys<String> {
+  private final String[] keys;
+
+  protected StringKeys(String... keys) {
+    this.keys = keys;
+  }
+
+  protected abstract int indexOfKey(String key);
+
+  @Override
+  final int size() {
+    return keys.length;
+  }
+
+  @Override
+  final String get(int index) {
+    return keys[index];
+  }
+
+  @Override
+  final int indexOf(Object key) {
+    return key instanceof String ? indexOfKey((String) key) : -1;
+  }
+}
@@ -0,0 +1,59 @@
+package dagger.producers;
+
+import dagger.internal.Beta;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Beta
+public final class ProductionExecutors {
+
+  public static Executor virtualThreadExecutor() {
+    return VirtualThreadExecutorHolder.EXECUTOR;
+  }
+
+  public static boolean virtualThreadsAvailable() {
+    return VirtualThreadExecutorHolder.VIRTUAL;
+  }
+
+  private static final class VirtualThreadExecutorHolder {
+    static final boolean VIRTUAL;
+    static final ExecutorService EXECUTOR;
+
+    static {
+      ExecutorService executor = newVirtualThreadPerTaskExecutor();
+      VIRTUAL = executor != null;
+      EXECUTOR = VIRTUAL ? executor : Executors.newCachedThreadPool(new DaemonThreadFactory());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+      try {
+        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        return (ExecutorService) method.invoke(null);
+      } catch (NoSuchMethodException e) {
+        return null;
+      } catch (IllegalAccessException e) {
+        return null;
+      } catch (InvocationTargetException e) {
+        return null;
+      }
+    }
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable task) {
+      Thread thread = new Thread(task, "dagger-production-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  private ProductionExecutors() {}
+}
@@ -1,13 +1,20 @@
 package dagger.producers.internal;
 
+import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import dagger.producers.Producer;
 import dagger.producers.monitoring.ProducerMonitor;
 import dagger.producers.monitoring.ProducerToken;
 import dagger.producers.monitoring.ProductionComponentMonitor;
 import dagger.producers.monitoring.internal.Monitors;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 
 import javax.annotation.Nullable;
 import javax.inject.Provider;
@@ -15,6 +22,7 @@ import javax.inject.Provider;
 public abstract class AbstractProducer<T> implements Producer<T> {
   private final Provider<ProductionComponentMonitor> monitorProvider;
   @Nullable private final ProducerToken token;
+  private final AtomicInteger dependents = new AtomicInteger();
   private volatile ListenableFuture<T> instance = null;
 
   protected AbstractProducer() {
@@ -46,6 +54,47 @@ public abstract class AbstractProducer<T> implements Producer<T> {
         }
       }
     }
-    return result;
+    if (result.isDone()) {
+      return result;
+    }
+    dependents.incrementAndGet();
+    return new DependentFuture<T>(this, result);
+  }
+
+  private void releaseDependent(boolean mayInterruptIfRunning) {
+    if (dependents.decrementAndGet() == 0) {
+      instance.cancel(mayInterruptIfRunning);
+    }
+  }
+
+  private static final class DependentFuture<T> extends AbstractFuture<T> implements Runnable {
+    final AbstractProducer<T> producer;
+    final ListenableFuture<T> future;
+
+    DependentFuture(AbstractProducer<T> producer, ListenableFuture<T> future) {
+      this.producer = producer;
+      this.future = future;
+      future.addListener(this, directExecutor());
+    }
+
+    @Override
+    public void run() {
+      try {
+        set(Uninterruptibles.getUninterruptibly(future));
+      } catch (ExecutionException e) {
+        setException(e.getCause());
+      } catch (CancellationException e) {
+        super.cancel(false);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!super.cancel(mayInterruptIfRunning)) {
+        return false;
+      }
+      producer.releaseDependent(mayInterruptIfRunning);
+      return true;
+    }
   }
 }
@@ -0,0 +1,93 @@
+package dagger.producers.internal;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+public final class CancellableExecutor implements Executor {
+  private final Executor delegate;
+  private final Set<TrackedTask> runningTasks = new HashSet<TrackedTask>();
+  private int pendingEntryPoints;
+
+  private CancellableExecutor(Executor delegate) {
+    this.delegate = checkNotNull(delegate);
+  }
+
+  public static Executor create(Executor delegate) {
+    return new CancellableExecutor(delegate);
+  }
+
+  public static <T> ListenableFuture<T> cancelComponentWith(
+      final ListenableFuture<T> future, Executor executor) {
+    if (executor instanceof CancellableExecutor && !future.isDone()) {
+      final CancellableExecutor cancellableExecutor = (CancellableExecutor) executor;
+      cancellableExecutor.entryPointStarted();
+      future.addListener(
+          new Runnable() {
+            @Override
+            public void run() {
+              cancellableExecutor.entryPointFinished(future.isCancelled());
+            }
+          },
+          directExecutor());
+    }
+    return future;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    delegate.execute(new TrackedTask(checkNotNull(task)));
+  }
+
+  private synchronized void entryPointStarted() {
+    pendingEntryPoints++;
+  }
+
+  private synchronized void entryPointFinished(boolean cancelled) {
+    pendingEntryPoints--;
+    if (cancelled && pendingEntryPoints == 0) {
+      for (TrackedTask task : runningTasks) {
+        task.interrupted = true;
+        task.thread.interrupt();
+      }
+    }
+  }
+
+  private final class TrackedTask implements Runnable {
+    final Runnable task;
+    Thread thread;
+    boolean interrupted;
+
+    TrackedTask(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      Thread currentThread = Thread.currentThread();
+      boolean wasInterrupted = currentThread.isInterrupted();
+      synchronized (CancellableExecutor.this) {
+        thread = currentThread;
+        runningTasks.add(this);
+      }
+      try {
+        task.run();
+      } finally {
+        synchronized (CancellableExecutor.this) {
+          runningTasks.remove(this);
+          if (interrupted) {
+            if (wasInterrupted) {
+              currentThread.interrupt();
+            } else {
+              Thread.interrupted();
+            }
+          }
+        }
+      }
+    }
+  }
+}
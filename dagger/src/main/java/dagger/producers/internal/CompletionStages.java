@@ -0,0 +1,121 @@
+package dagger.producers.internal;
+
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+public final class CompletionStages {
+
+  @SuppressWarnings("unchecked")
+  public static <T> ListenableFuture<T> toListenableFuture(CompletionStage<T> stage) {
+    checkNotNull(stage, "a @Produces method returned a null CompletionStage");
+    if (stage instanceof ListenableCompletableFuture) {
+      return ((ListenableCompletableFuture<T>) stage).source;
+    }
+    if (stage instanceof CompletableFuture && ((CompletableFuture<T>) stage).isDone()) {
+      try {
+        return Futures.immediateFuture(((CompletableFuture<T>) stage).join());
+      } catch (CancellationException e) {
+        return Futures.immediateCancelledFuture();
+      } catch (CompletionException e) {
+        return Futures.immediateFailedFuture(unwrap(e));
+      }
+    }
+    StageFuture<T> future = new StageFuture<T>(stage);
+    stage.whenComplete(future);
+    return future;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> future) {
+    checkNotNull(future);
+    if (future instanceof StageFuture
+        && ((StageFuture<T>) future).stage instanceof CompletableFuture) {
+      return (CompletableFuture<T>) ((StageFuture<T>) future).stage;
+    }
+    ListenableCompletableFuture<T> result = new ListenableCompletableFuture<T>(future);
+    if (future.isDone()) {
+      result.run();
+    } else {
+      future.addListener(result, directExecutor());
+    }
+    return result;
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause()
+        : failure;
+  }
+
+  private static final class StageFuture<T> extends AbstractFuture<T>
+      implements BiConsumer<T, Throwable> {
+    final CompletionStage<T> stage;
+
+    StageFuture(CompletionStage<T> stage) {
+      this.stage = stage;
+    }
+
+    @Override
+    public void accept(T value, Throwable failure) {
+      if (failure == null) {
+        set(value);
+      } else if (unwrap(failure) instanceof CancellationException) {
+        super.cancel(false);
+      } else {
+        setException(unwrap(failure));
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!super.cancel(mayInterruptIfRunning)) {
+        return false;
+      }
+      if (stage instanceof Future) {
+        ((Future<?>) stage).cancel(mayInterruptIfRunning);
+      }
+      return true;
+    }
+  }
+
+  private static final class ListenableCompletableFuture<T> extends CompletableFuture<T>
+      implements Runnable {
+    final ListenableFuture<T> source;
+
+    ListenableCompletableFuture(ListenableFuture<T> source) {
+      this.source = source;
+    }
+
+    @Override
+    public void run() {
+      try {
+        complete(Uninterruptibles.getUninterruptibly(source));
+      } catch (ExecutionException e) {
+        completeExceptionally(e.getCause());
+      } catch (CancellationException e) {
+        super.cancel(false);
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      source.cancel(mayInterruptIfRunning);
+      return cancelled;
+    }
+  }
+
+  private CompletionStages() {}
+}
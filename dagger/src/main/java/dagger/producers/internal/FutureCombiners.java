@@ -0,0 +1,305 @@
+package dagger.producers.internal;
+
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
+
+public final class FutureCombiners {
+
+  public interface AsyncFunction2<A, B, O> {
+    ListenableFuture<O> apply(A a, B b) throws Exception;
+  }
+
+  public interface AsyncFunction3<A, B, C, O> {
+    ListenableFuture<O> apply(A a, B b, C c) throws Exception;
+  }
+
+  public interface AsyncFunction4<A, B, C, D, O> {
+    ListenableFuture<O> apply(A a, B b, C c, D d) throws Exception;
+  }
+
+  public interface AsyncFunction5<A, B, C, D, E, O> {
+    ListenableFuture<O> apply(A a, B b, C c, D d, E e) throws Exception;
+  }
+
+  public interface AsyncFunction6<A, B, C, D, E, F, O> {
+    ListenableFuture<O> apply(A a, B b, C c, D d, E e, F f) throws Exception;
+  }
+
+  public interface AsyncFunction7<A, B, C, D, E, F, G, O> {
+    ListenableFuture<O> apply(A a, B b, C c, D d, E e, F f, G g) throws Exception;
+  }
+
+  public interface AsyncFunction8<A, B, C, D, E, F, G, H, O> {
+    ListenableFuture<O> apply(A a, B b, C c, D d, E e, F f, G g, H h) throws Exception;
+  }
+
+  public static <A, B, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final AsyncFunction2<? super A, ? super B, ? extends O> function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(getDone(a), getDone(b));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  public static <A, B, C, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final ListenableFuture<C> c,
+      final AsyncFunction3<? super A, ? super B, ? super C, ? extends O> function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b, c) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(getDone(a), getDone(b), getDone(c));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  public static <A, B, C, D, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final ListenableFuture<C> c,
+      final ListenableFuture<D> d,
+      final AsyncFunction4<? super A, ? super B, ? super C, ? super D, ? extends O> function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b, c, d) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(getDone(a), getDone(b), getDone(c), getDone(d));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  public static <A, B, C, D, E, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final ListenableFuture<C> c,
+      final ListenableFuture<D> d,
+      final ListenableFuture<E> e,
+      final AsyncFunction5<
+              ? super A, ? super B, ? super C, ? super D, ? super E, ? extends O>
+          function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b, c, d, e) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(getDone(a), getDone(b), getDone(c), getDone(d), getDone(e));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  public static <A, B, C, D, E, F, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final ListenableFuture<C> c,
+      final ListenableFuture<D> d,
+      final ListenableFuture<E> e,
+      final ListenableFuture<F> f,
+      final AsyncFunction6<
+              ? super A, ? super B, ? super C, ? super D, ? super E, ? super F, ? extends O>
+          function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b, c, d, e, f) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(
+            getDone(a), getDone(b), getDone(c), getDone(d), getDone(e), getDone(f));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  public static <A, B, C, D, E, F, G, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final ListenableFuture<C> c,
+      final ListenableFuture<D> d,
+      final ListenableFuture<E> e,
+      final ListenableFuture<F> f,
+      final ListenableFuture<G> g,
+      final AsyncFunction7<
+              ? super A,
+              ? super B,
+              ? super C,
+              ? super D,
+              ? super E,
+              ? super F,
+              ? super G,
+              ? extends O>
+          function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b, c, d, e, f, g) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(
+            getDone(a), getDone(b), getDone(c), getDone(d), getDone(e), getDone(f), getDone(g));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  public static <A, B, C, D, E, F, G, H, O> ListenableFuture<O> combineAsync(
+      final ListenableFuture<A> a,
+      final ListenableFuture<B> b,
+      final ListenableFuture<C> c,
+      final ListenableFuture<D> d,
+      final ListenableFuture<E> e,
+      final ListenableFuture<F> f,
+      final ListenableFuture<G> g,
+      final ListenableFuture<H> h,
+      final AsyncFunction8<
+              ? super A,
+              ? super B,
+              ? super C,
+              ? super D,
+              ? super E,
+              ? super F,
+              ? super G,
+              ? super H,
+              ? extends O>
+          function,
+      Executor executor,
+      int maxDirectDepth) {
+    return new CombinedFuture<O>(executor, a, b, c, d, e, f, g, h) {
+      @Override
+      ListenableFuture<? extends O> combine() throws Exception {
+        return function.apply(
+            getDone(a),
+            getDone(b),
+            getDone(c),
+            getDone(d),
+            getDone(e),
+            getDone(f),
+            getDone(g),
+            getDone(h));
+      }
+    }.start(maxDirectDepth);
+  }
+
+  private abstract static class CombinedFuture<O> extends AbstractFuture<O> implements Runnable {
+    private final Executor executor;
+    private final ListenableFuture<?>[] inputs;
+    private final AtomicInteger remaining;
+
+    CombinedFuture(Executor executor, ListenableFuture<?>... inputs) {
+      this.executor = executor;
+      this.inputs = inputs;
+      this.remaining = new AtomicInteger(inputs.length);
+    }
+
+    abstract ListenableFuture<? extends O> combine() throws Exception;
+
+    final ListenableFuture<O> start(int maxDirectDepth) {
+      boolean allDone = true;
+      for (ListenableFuture<?> input : inputs) {
+        allDone &= input.isDone();
+      }
+      if (allDone && Producers.tryEnterDirectExecution(maxDirectDepth)) {
+        try {
+          if (!failIfAnyInputFailed()) {
+            run();
+          }
+        } finally {
+          Producers.exitDirectExecution();
+        }
+        return this;
+      }
+      for (final ListenableFuture<?> input : inputs) {
+        input.addListener(
+            new Runnable() {
+              @Override
+              public void run() {
+                inputDone(input);
+              }
+            },
+            directExecutor());
+      }
+      return this;
+    }
+
+    private void inputDone(ListenableFuture<?> input) {
+      if (fail(input) || remaining.decrementAndGet() > 0) {
+        return;
+      }
+      try {
+        executor.execute(this);
+      } catch (RuntimeException e) {
+        setException(e);
+      }
+    }
+
+    @Override
+    public final void run() {
+      if (isDone()) {
+        return;
+      }
+      try {
+        ListenableFuture<? extends O> output = combine();
+        if (output == null) {
+          setException(
+              new NullPointerException(
+                  "AsyncFunction.apply returned null instead of a Future. "
+                      + "Did you mean to return immediateFuture(null)?"));
+        } else {
+          setFuture(output);
+        }
+      } catch (Throwable t) {
+        setException(t);
+      }
+    }
+
+    private boolean failIfAnyInputFailed() {
+      for (ListenableFuture<?> input : inputs) {
+        if (fail(input)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean fail(ListenableFuture<?> input) {
+      try {
+        Uninterruptibles.getUninterruptibly(input);
+        return false;
+      } catch (ExecutionException e) {
+        setException(e.getCause());
+      } catch (CancellationException e) {
+        cancel(false);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (!super.cancel(mayInterruptIfRunning)) {
+        return false;
+      }
+      for (ListenableFuture<?> input : inputs) {
+        input.cancel(mayInterruptIfRunning);
+      }
+      return true;
+    }
+  }
+
+  private static <V> V getDone(ListenableFuture<V> future) throws ExecutionException {
+    return Uninterruptibles.getUninterruptibly(future);
+  }
+
+  private FutureCombiners() {}
+}
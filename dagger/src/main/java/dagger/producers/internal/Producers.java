@@ -5,10 +5,14 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import dagger.producers.Produced;
 import dagger.producers.Producer;
 import dagger.producers.monitoring.ProducerMonitor;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import javax.inject.Provider;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -52,6 +56,60 @@ public final class Producers {
     });
   }
 
+  private static final ThreadLocal<int[]> DIRECT_EXECUTION_DEPTH =
+      new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+          return new int[1];
+        }
+      };
+
+  public static <I, O> ListenableFuture<O> transformAsync(
+      ListenableFuture<I> input,
+      AsyncFunction<? super I, ? extends O> function,
+      Executor executor,
+      int maxDirectDepth) {
+    if (!input.isDone() || !tryEnterDirectExecution(maxDirectDepth)) {
+      return Futures.transformAsync(input, function, executor);
+    }
+    try {
+      I value;
+      try {
+        value = Uninterruptibles.getUninterruptibly(input);
+      } catch (ExecutionException e) {
+        return Futures.immediateFailedFuture(e.getCause());
+      } catch (CancellationException e) {
+        return Futures.immediateCancelledFuture();
+      }
+      @SuppressWarnings("unchecked") // a future of a subtype is a future of O, as it is read-only
+      ListenableFuture<O> output = (ListenableFuture<O>) function.apply(value);
+      if (output == null) {
+        return Futures.immediateFailedFuture(
+            new NullPointerException(
+                "AsyncFunction.apply returned null instead of a Future. "
+                    + "Did you mean to return immediateFuture(null)?"));
+      }
+      return output;
+    } catch (Throwable t) {
+      return Futures.immediateFailedFuture(t);
+    } finally {
+      exitDirectExecution();
+    }
+  }
+
+  static boolean tryEnterDirectExecution(int maxDirectDepth) {
+    int[] depth = DIRECT_EXECUTION_DEPTH.get();
+    if (depth[0] >= maxDirectDepth) {
+      return false;
+    }
+    depth[0]++;
+    return true;
+  }
+
+  static void exitDirectExecution() {
+    DIRECT_EXECUTION_DEPTH.get()[0]--;
+  }
+
   public static <T> Producer<T> producerFromProvider(final Provider<T> provider) {
     checkNotNull(provider);
     return new AbstractProducer<T>() {
@@ -0,0 +1,118 @@
+package dagger.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import javax.inject.Provider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(JUnit4.class)
+public class ParkingScopedProviderTest {
+  private static final int WAITERS = 8;
+  private static final int ITERATIONS = 1000;
+
+  @Test
+  public void waitersRetryAfterFailedConstruction() throws Exception {
+    for (int i = 0; i < ITERATIONS; i++) {
+      runFailingFirstConstruction();
+    }
+  }
+
+  private void runFailingFirstConstruction() throws Exception {
+    final CountDownLatch firstStarted = new CountDownLatch(1);
+    final CountDownLatch failFirst = new CountDownLatch(1);
+    final AtomicInteger constructions = new AtomicInteger();
+    final Provider<Object> provider =
+        ParkingScopedProvider.create(
+            new Factory<Object>() {
+              @Override
+              public Object get() {
+                if (constructions.incrementAndGet() == 1) {
+                  firstStarted.countDown();
+                  awaitUninterruptibly(failFirst);
+                  throw new IllegalStateException("first construction fails");
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                return new Object();
+              }
+            });
+
+    final AtomicReference<Throwable> firstFailure = new AtomicReference<Throwable>();
+    Thread first =
+        new Thread() {
+          @Override
+          public void run() {
+            try {
+              provider.get();
+            } catch (Throwable t) {
+              firstFailure.set(t);
+            }
+          }
+        };
+    first.start();
+    firstStarted.await();
+
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Object> results = new ArrayList<Object>();
+    List<Thread> waiters = new ArrayList<Thread>();
+    for (int i = 0; i < WAITERS; i++) {
+      final boolean late = i % 2 == 1;
+      Thread waiter =
+          new Thread() {
+            @Override
+            public void run() {
+              if (late) {
+                awaitUninterruptibly(start);
+              }
+              Object result = provider.get();
+              synchronized (results) {
+                results.add(result);
+              }
+            }
+          };
+      waiters.add(waiter);
+      waiter.start();
+    }
+    failFirst.countDown();
+    start.countDown();
+
+    first.join(TimeUnit.SECONDS.toMillis(10));
+    for (Thread waiter : waiters) {
+      waiter.join(TimeUnit.SECONDS.toMillis(10));
+      if (waiter.isAlive()) {
+        fail("a thread waiting on the construction was never woken");
+      }
+    }
+    assertFalse(first.isAlive());
+    assertTrue(firstFailure.get() instanceof IllegalStateException);
+    assertEquals(WAITERS, results.size());
+    Object instance = provider.get();
+    assertNotNull(instance);
+    for (Object result : results) {
+      assertSame(instance, result);
+    }
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    while (true) {
+      try {
+        latch.await();
+        return;
+      } catch (InterruptedException e) {
+      }
+    }
+  }
+}
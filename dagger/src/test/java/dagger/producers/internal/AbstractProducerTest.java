@@ -0,0 +1,136 @@
+package dagger.producers.internal;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import dagger.producers.Producer;
+import dagger.producers.monitoring.ProducerMonitor;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class AbstractProducerTest {
+  private QueueExecutor executor;
+  private SettableFuture<Integer> upstreamResult;
+  private AbstractProducer<Integer> upstream;
+  private AtomicInteger transformations;
+
+  @Before
+  public void setUp() {
+    executor = new QueueExecutor();
+    upstreamResult = SettableFuture.create();
+    upstream =
+        new AbstractProducer<Integer>() {
+          @Override
+          protected ListenableFuture<Integer> compute(ProducerMonitor monitor) {
+            return upstreamResult;
+          }
+        };
+    transformations = new AtomicInteger();
+  }
+
+  @Test
+  public void sharedProducerSurvivesWhileOtherViewsAreLive() {
+    ListenableFuture<Integer> first = dependentOf(upstream).get();
+    ListenableFuture<Integer> second = dependentOf(upstream).get();
+
+    assertTrue(first.cancel(true));
+    assertTrue(first.isCancelled());
+    assertFalse(upstreamResult.isCancelled());
+    assertFalse(second.isDone());
+
+    upstreamResult.set(1);
+    executor.runAll();
+    assertEquals(2, (int) Futures.getUnchecked(second));
+    assertEquals(1, transformations.get());
+  }
+
+  @Test
+  public void cancellationPropagatesUpstreamOnceTheLastViewIsCancelled() {
+    ListenableFuture<Integer> first = dependentOf(upstream).get();
+    ListenableFuture<Integer> second = dependentOf(upstream).get();
+
+    first.cancel(true);
+    second.cancel(true);
+    assertTrue(upstreamResult.isCancelled());
+
+    executor.runAll();
+    assertEquals(0, transformations.get());
+  }
+
+  @Test
+  public void cancellingOneOfSeveralViewsOfTheSameProducer() {
+    ListenableFuture<Integer> first = upstream.get();
+    ListenableFuture<Integer> second = upstream.get();
+    assertNotSame(first, second);
+
+    first.cancel(false);
+    assertFalse(upstreamResult.isCancelled());
+    second.cancel(false);
+    assertTrue(upstreamResult.isCancelled());
+  }
+
+  @Test
+  public void getAfterDoneReturnsTheUnwrappedFuture() {
+    ListenableFuture<Integer> view = upstream.get();
+    upstreamResult.set(1);
+
+    assertEquals(1, (int) Futures.getUnchecked(view));
+    assertSame(upstreamResult, upstream.get());
+  }
+
+  @Test
+  public void getAfterTheLastViewIsCancelledDoesNotRecompute() {
+    upstream.get().cancel(true);
+    assertTrue(upstreamResult.isCancelled());
+
+    assertTrue(upstream.get().isCancelled());
+  }
+
+  private Producer<Integer> dependentOf(final Producer<Integer> input) {
+    return new AbstractProducer<Integer>() {
+      @Override
+      protected ListenableFuture<Integer> compute(ProducerMonitor monitor) {
+        return Futures.transform(
+            input.get(),
+            new Function<Integer, Integer>() {
+              @Override
+              public Integer apply(Integer value) {
+                transformations.incrementAndGet();
+                return value + 1;
+              }
+            },
+            executor);
+      }
+    };
+  }
+
+  private static final class QueueExecutor implements Executor {
+    private final Queue<Runnable> tasks = new ArrayDeque<Runnable>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    void runAll() {
+      Runnable task;
+      while ((task = tasks.poll()) != null) {
+        task.run();
+      }
+    }
+  }
+}